@@ -18,7 +18,6 @@ import org.w3.ldp.testsuite.annotations.SpecTest.STATUS;
 import org.w3.ldp.testsuite.test.LdpTest;
 
 import com.google.common.collect.ImmutableMap;
-import com.jayway.restassured.RestAssured;
 import com.jayway.restassured.specification.RequestSpecification;
 
 public class PagingTest extends LdpTest{
@@ -485,14 +484,13 @@ public class PagingTest extends LdpTest{
 	
 	@Override
 	protected RequestSpecification buildBaseRequestSpecification() {
-		RequestSpecification spec = RestAssured.given();
+		RequestSpecification spec = newRequestSpecification();
 		if (auth != null) {
 			spec.auth().preemptive().basic(auth.get("username"), auth.get("password"));
 		}
 
 		if (httpLog != null) {
-			spec.config(RestAssured
-					.config()
+			spec.config(newConfig()
 					.logConfig(logConfig()
 							.enableLoggingOfRequestAndResponseIfValidationFails()
 							.defaultStream(new PrintStream(new WriterOutputStream(httpLog)))
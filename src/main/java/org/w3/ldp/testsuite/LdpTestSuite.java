@@ -1,6 +1,8 @@
 package org.w3.ldp.testsuite;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.*;
@@ -16,19 +18,31 @@ import org.apache.commons.cli.Options;
 import org.apache.commons.cli.ParseException;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.exception.ExceptionUtils;
-import org.testng.IMethodInstance;
-import org.testng.IMethodInterceptor;
-import org.testng.ITestContext;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.riot.RDFDataMgr;
 import org.testng.TestNG;
 import org.testng.xml.XmlClass;
 import org.testng.xml.XmlSuite;
 import org.testng.xml.XmlTest;
+import org.w3.ldp.testsuite.http.ContentEncodings;
+import org.w3.ldp.testsuite.http.HttpTransport;
+import org.w3.ldp.testsuite.http.PooledHttpClientFactory;
+import org.w3.ldp.testsuite.http.RetryPolicy;
+import org.w3.ldp.testsuite.mapper.GraphType;
 import org.w3.ldp.testsuite.reporter.LdpEarlReporter;
 import org.w3.ldp.testsuite.reporter.LdpHtmlReporter;
+import org.w3.ldp.testsuite.reporter.LdpReportMerger;
 import org.w3.ldp.testsuite.reporter.LdpTestListener;
+import org.w3.ldp.testsuite.reporter.TestCaseIndex;
 import org.w3.ldp.testsuite.test.LdpTest;
+import org.w3.ldp.testsuite.transformer.DependencyGraph;
 import org.w3.ldp.testsuite.transformer.MethodEnabler;
+import org.w3.ldp.testsuite.transformer.MethodIndex.Attribute;
+import org.w3.ldp.testsuite.transformer.MethodSelector;
+import org.w3.ldp.testsuite.util.BinaryPayload;
 import org.w3.ldp.testsuite.util.OptionsHandler;
+import org.w3.ldp.testsuite.util.VirtualThreadExecutorServiceFactory;
+import org.w3.ldp.testsuite.util.VirtualThreads;
 
 import com.jayway.restassured.RestAssured;
 
@@ -45,18 +59,46 @@ public class LdpTestSuite {
 	public static final String SPEC_URI = "http://www.w3.org/TR/ldp";
 	public static final String OUTPUT_DIR = "report";
 
+	/** Number of concurrent test methods with --virtual-threads unless --threads is also given */
+	static final int DEFAULT_VIRTUAL_THREADS = 200;
+
 	static final String[] EARLDEPEDENTARGS = {"software", "developer", "language", "homepage", "assertor", "shortname"};
 
 	private final TestNG testng;
 
 	private final List<XmlClass> classList; // for test types to add in
 
+	private final Map<XmlTest, Target> testTargets = new LinkedHashMap<>(); // one test per target
+
 	private final String reportTitle;
 
+	private MethodSelector methodSelector; // null runs all the tests
+
+	private LdpHtmlReporter htmlReporter;
+
+	private LdpEarlReporter earlReporter;
+
+	private String rerunFrom; // EARL report of the run to retry
+
+	private Model rerunReport;
+
 	private String outputDir;
 
 	enum ContainerType {
-		BASIC, DIRECT, INDIRECT
+		BASIC("basicContainer", "org.w3.ldp.testsuite.test.BasicContainerTest"),
+		DIRECT("directContainer", "org.w3.ldp.testsuite.test.DirectContainerTest"),
+		INDIRECT("indirectContainer", "org.w3.ldp.testsuite.test.IndirectContainerTest");
+
+		/** Test parameter holding the container url */
+		final String parameter;
+
+		/** Test class for the container type */
+		final String testClass;
+
+		ContainerType(String parameter, String testClass) {
+			this.parameter = parameter;
+			this.testClass = testClass;
+		}
 	}
 
 	/**
@@ -137,9 +179,21 @@ public class LdpTestSuite {
 			}
 		}
 
-		// create XmlTest instance
-		XmlTest test = new XmlTest(testsuite);
-		test.setName("W3C Linked Data Platform Tests");
+		// run test methods concurrently if requested, 0 is serial
+		int methodThreads = 0;
+		if (options.hasOption("virtual-threads")) {
+			if (VirtualThreads.isSupported()) {
+				testng.setExecutorServiceFactory(new VirtualThreadExecutorServiceFactory());
+				methodThreads = DEFAULT_VIRTUAL_THREADS;
+			} else {
+				// as many platform threads would defeat the purpose
+				System.err.println("WARNING: virtual threads require Java 21 or later (or --enable-preview on Java 19 and 20), "
+						+ "running the tests " + (options.hasOptionWithValue("threads") ? "on the --threads platform threads" : "serially"));
+			}
+		}
+		if (options.hasOptionWithValue("threads")) {
+			methodThreads = getThreadCount(options.getOptionValue("threads"));
+		}
 
 		// Add any parameters that you want to set to the Test.
 		// Test suite parameters
@@ -152,19 +206,29 @@ public class LdpTestSuite {
 		}
 		parameters.put("output", outputDir);
 
-		final String server;
-		if (options.hasOption("server")) {
-			server = options.getOptionValue("server");
-			if (StringUtils.startsWith(server, "https:")) { // allow self-signed certificates for development servers
-				RestAssured.useRelaxedHTTPSValidation();
-			}
+		final List<Target> targets;
+		if (options.hasOptionWithValue("targets")) {
+			final String targetsFile = options.getOptionValue("targets");
 			try {
-				checkUriScheme(server);
-			} catch (Exception e) {
-				throw new IllegalArgumentException("ERROR: invalid server uri, " + e.getLocalizedMessage());
+				targets = Target.load(new File(targetsFile));
+			} catch (IOException e) {
+				throw new IllegalArgumentException("ERROR: could not read targets file, " + e.getLocalizedMessage());
 			}
 		} else {
-			throw new IllegalArgumentException("ERROR: missing server uri");
+			targets = Collections.singletonList(new Target(getSelectedContainers(options), null));
+		}
+
+		for (Target target : targets) {
+			for (String server : target.getContainers().values()) {
+				if (StringUtils.startsWith(server, "https:")) { // allow self-signed certificates for development servers
+					RestAssured.useRelaxedHTTPSValidation();
+				}
+				try {
+					checkUriScheme(server);
+				} catch (Exception e) {
+					throw new IllegalArgumentException("ERROR: invalid server uri, " + e.getLocalizedMessage());
+				}
+			}
 		}
 
 		// Listener injection from options
@@ -188,27 +252,27 @@ public class LdpTestSuite {
 		testng.addListener(new MethodEnabler());
 
 		testng.addListener(new LdpTestListener());
-		LdpHtmlReporter reporter = new LdpHtmlReporter();
+		htmlReporter = new LdpHtmlReporter();
 		if (StringUtils.isNotBlank(reportTitle)) {
-			reporter.setTitle(reportTitle);
+			htmlReporter.setTitle(reportTitle);
 		}
-		reporter.setOutputDirectory(outputDir);
-		testng.addListener(reporter);
+		htmlReporter.setOutputDirectory(outputDir);
+		testng.addListener(htmlReporter);
 
 		if (options.hasOption("earl")) {
-			LdpEarlReporter earlReport = new LdpEarlReporter();
+			earlReporter = new LdpEarlReporter();
 			if (StringUtils.isNotBlank(reportTitle)) {
-				earlReport.setTitle(reportTitle);
+				earlReporter.setTitle(reportTitle);
 			}
-			earlReport.setOutputDirectory(outputDir);
-			testng.addListener(earlReport);
+			earlReporter.setOutputDirectory(outputDir);
+			testng.addListener(earlReporter);
 
 			// required --earl args
 			for (String arg: EARLDEPEDENTARGS) {
 				if (options.hasOptionWithValue(arg))
 					parameters.put(arg, options.getOptionValue(arg));
 				else
-					printEarlUsage(arg);
+					throw earlUsageError(arg);
 			}
 
 			// optional --earl args
@@ -238,13 +302,8 @@ public class LdpTestSuite {
 
 		if (options.hasOptionWithValue("auth")) {
 			final String auth = options.getOptionValue("auth");
-			if (auth.contains(":")) {
-					String[] split = auth.split(":");
-					if (split.length == 2 && StringUtils.isNotBlank(split[0]) && StringUtils.isNotBlank(split[1])) {
-						parameters.put("auth", auth);
-				} else {
-					throw new IllegalArgumentException("ERROR: invalid basic authentication credentials");
-				}
+			if (isValidAuth(auth)) {
+				parameters.put("auth", auth);
 			} else {
 				throw new IllegalArgumentException("ERROR: invalid basic authentication credentials");
 			}
@@ -268,20 +327,37 @@ public class LdpTestSuite {
 			parameters.put("memberResource", memberResource);
 		}
 
-		ContainerType type = getSelectedType(options);
-		switch (type) {
-			case BASIC:
-				classList.add(new XmlClass("org.w3.ldp.testsuite.test.BasicContainerTest"));
-				parameters.put("basicContainer", server);
-				break;
-			case DIRECT:
-				classList.add(new XmlClass("org.w3.ldp.testsuite.test.DirectContainerTest"));
-				parameters.put("directContainer", server);
-				break;
-			case INDIRECT:
-				classList.add(new XmlClass("org.w3.ldp.testsuite.test.IndirectContainerTest"));
-				parameters.put("indirectContainer", server);
-				break;
+		// one test per target, each with its own container and credentials
+		final List<XmlTest> tests = new ArrayList<>();
+		for (Target target : targets) {
+			XmlTest test = new XmlTest(testsuite);
+			test.setName(targets.size() == 1 ? "W3C Linked Data Platform Tests" : target.getName());
+
+			final Map<String, String> testParameters = new HashMap<>();
+			for (Map.Entry<ContainerType, String> container : target.getContainers().entrySet()) {
+				testParameters.put(container.getKey().parameter, container.getValue());
+			}
+			if (target.getAuth() != null) {
+				testParameters.put("auth", target.getAuth());
+			}
+			test.setParameters(testParameters);
+
+			if (methodThreads > 0) {
+				test.setParallel(XmlSuite.ParallelMode.METHODS);
+				test.setThreadCount(methodThreads);
+			} else if (target.getContainers().size() > 1) {
+				// container types run concurrently, thread count is set with the classes
+				test.setParallel(XmlSuite.ParallelMode.CLASSES);
+			}
+
+			tests.add(test);
+			testTargets.put(test, target);
+		}
+
+		// targets run concurrently, each in its own test
+		if (tests.size() > 1) {
+			testsuite.setParallel(XmlSuite.ParallelMode.TESTS);
+			testsuite.setThreadCount(tests.size());
 		}
 
 		classList.add(new XmlClass("org.w3.ldp.testsuite.test.MemberResourceTest"));
@@ -299,10 +375,95 @@ public class LdpTestSuite {
 			parameters.put("skipLogging", "true");
 		}
 
-		test.setXmlClasses(classList);
+		if (options.hasOption("fail-fast")) {
+			parameters.put("failFast", "true");
+			if (options.hasOptionWithValue("probe-interval")) {
+				final String probeInterval = options.getOptionValue("probe-interval");
+				try {
+					if (Long.parseLong(probeInterval.trim()) < 1) {
+						throw new NumberFormatException();
+					}
+				} catch (NumberFormatException e) {
+					throw new IllegalArgumentException("ERROR: invalid probe interval, " + probeInterval);
+				}
+				parameters.put("probeInterval", probeInterval.trim());
+			}
+		}
 
-		final List<XmlTest> tests = new ArrayList<>();
-		tests.add(test);
+		putPositiveParameter(options, "max-connections", parameters, "maxConnections", "maximum connections per server");
+		putPositiveParameter(options, "idle-timeout", parameters, "idleTimeout", "idle timeout");
+		putPositiveParameter(options, "keep-alive", parameters, "keepAlive", "keep-alive time");
+		putPositiveParameter(options, "max-in-flight", parameters, "maxInFlight", "maximum requests in flight");
+
+		if (options.hasOptionWithValue("max-rps")) {
+			final String maxRps = options.getOptionValue("max-rps").trim();
+			try {
+				final double rps = Double.parseDouble(maxRps);
+				if (!(rps > 0) || Double.isInfinite(rps)) {
+					throw new NumberFormatException();
+				}
+			} catch (NumberFormatException e) {
+				throw new IllegalArgumentException("ERROR: invalid maximum requests per second, " + maxRps);
+			}
+			parameters.put("maxRps", maxRps);
+		}
+
+		if (options.hasOption("cache")) {
+			parameters.put("cache", "true");
+		}
+
+		if (options.hasOptionWithValue("graph")) {
+			final String graph = options.getOptionValue("graph").trim();
+			GraphType.parse(graph); // fails early on unknown graphs
+			parameters.put("graph", graph);
+		}
+
+		if (options.hasOptionWithValue("retries")) {
+			final String retries = options.getOptionValue("retries").trim();
+			try {
+				if (Integer.parseInt(retries) < 0) {
+					throw new NumberFormatException();
+				}
+			} catch (NumberFormatException e) {
+				throw new IllegalArgumentException("ERROR: invalid number of retries, " + retries);
+			}
+			parameters.put("retries", retries);
+		}
+
+		if (options.hasOptionWithValue("binary-size")) {
+			final String binarySize = options.getOptionValue("binary-size").trim();
+			try {
+				final long bytes = BinaryPayload.parseSize(binarySize);
+				if (bytes < 1) {
+					throw new NumberFormatException();
+				}
+				parameters.put("binarySize", Long.toString(bytes));
+			} catch (NumberFormatException e) {
+				throw new IllegalArgumentException("ERROR: invalid binary size, " + binarySize);
+			}
+		}
+
+		if (options.hasOptionWithValue("capabilities")) {
+			parameters.put("capabilities", options.getOptionValue("capabilities"));
+		}
+
+		if (options.hasOptionWithValue("compression")) {
+			final String compression = options.getOptionValue("compression").trim();
+			ContentEncodings.parse(compression); // fails early on unsupported codings
+			parameters.put("compression", compression);
+		}
+
+		if (options.hasOptionWithValue("transport")) {
+			final String transport = options.getOptionValue("transport").trim();
+			final String httpVersion = options.getOptionValue("http-version");
+			HttpTransport.create(transport, httpVersion).close(); // fails early on invalid values
+			parameters.put("transport", transport);
+			if (httpVersion != null) {
+				parameters.put("httpVersion", httpVersion.trim());
+			}
+		} else if (options.hasOption("http-version")) {
+			throw new IllegalArgumentException("ERROR: --http-version requires --transport " + HttpTransport.JDK);
+		}
 
 		testsuite.setParameters(parameters);
 		testsuite.setTests(tests);
@@ -311,6 +472,7 @@ public class LdpTestSuite {
 		suites.add(testsuite);
 		testng.setXmlSuites(suites);
 
+		final MethodSelector selector;
 		if (options.hasOption("test")) {
 			final String[] testNamePatterns = options.getOptionValues("test");
 			for (int i = 0; i < testNamePatterns.length; i++) {
@@ -318,33 +480,132 @@ public class LdpTestSuite {
 				// Convert the wildcard pattern into a regex to use internally.
 				testNamePatterns[i] = wildcardPatternToRegex(testNamePatterns[i]);
 			}
+			selector = new MethodSelector(Arrays.asList(testNamePatterns));
+		} else {
+			selector = new MethodSelector();
+		}
 
-			// Add a method intercepter to filter the list for matching tests.
-			testng.addListener(new IMethodInterceptor() {
-				@Override
-				public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
-					ArrayList<IMethodInstance> toRun = new ArrayList<>();
-					for (IMethodInstance method : methods) {
-						for (String testNamePattern : testNamePatterns) {
-							if (method.getMethod().getMethodName().matches(testNamePattern)) {
-								toRun.add(method);
-							}
-						}
-					}
-					return toRun;
+		final Map<String, Attribute> criteria = new LinkedHashMap<>();
+		criteria.put("test-class", Attribute.CLASS);
+		criteria.put("approval", Attribute.APPROVAL);
+		criteria.put("spec-test-method", Attribute.TEST_METHOD);
+		criteria.put("spec-ref", Attribute.SPEC_REF);
+		boolean hasCriteria = options.hasOption("test");
+		for (Map.Entry<String, Attribute> criterion : criteria.entrySet()) {
+			if (!options.hasOption(criterion.getKey())) {
+				continue;
+			}
+			final List<String> regexes = new ArrayList<>();
+			for (String value : options.getOptionValues(criterion.getKey())) {
+				if (criterion.getValue() == Attribute.APPROVAL || criterion.getValue() == Attribute.TEST_METHOD) {
+					value = value.toUpperCase(Locale.ENGLISH);
 				}
-			});
+				regexes.add(wildcardPatternToRegex(value));
+			}
+			selector.addCriterion(criterion.getValue(), regexes);
+			hasCriteria = true;
+		}
+
+		if (options.hasOptionWithValue("shard")) {
+			final String shard = options.getOptionValue("shard");
+			final String[] split = shard.split("/");
+			if (split.length != 2) {
+				throw new IllegalArgumentException("ERROR: invalid shard, " + shard);
+			}
+			try {
+				selector.setShard(Integer.parseInt(split[0].trim()), Integer.parseInt(split[1].trim()));
+			} catch (NumberFormatException e) {
+				throw new IllegalArgumentException("ERROR: invalid shard, " + shard);
+			}
+		}
+
+		if (options.hasOptionWithValue("rerun-from")) {
+			rerunFrom = options.getOptionValue("rerun-from");
+			try {
+				rerunReport = RDFDataMgr.loadModel(rerunFrom);
+			} catch (RuntimeException e) {
+				throw new IllegalArgumentException("ERROR: could not read EARL report, " + e.getLocalizedMessage());
+			}
+			if (earlReporter == null) {
+				System.err.println("WARNING: --rerun-from updates the EARL report only with --earl");
+			}
+		}
+
+		if (hasCriteria || options.hasOptionWithValue("shard") || rerunFrom != null) {
+			// Add a method intercepter to filter the list for matching tests
+			// and the tests they depend on.
+			methodSelector = selector;
+			testng.addListener(selector);
 		}
 	}
 
-	private ContainerType getSelectedType(OptionsHandler options) {
-		if (options.hasOption("direct")) {
-			return ContainerType.DIRECT;
-		} else if (options.hasOption("indirect")) {
-			return ContainerType.INDIRECT;
-		} else {
-			return ContainerType.BASIC;
+	/*
+	 * Copies a positive integer option to a suite parameter.
+	 */
+	private static void putPositiveParameter(OptionsHandler options, String option,
+			Map<String, String> parameters, String parameter, String description) {
+		if (!options.hasOptionWithValue(option)) {
+			return;
+		}
+
+		final String value = options.getOptionValue(option).trim();
+		try {
+			if (Integer.parseInt(value) < 1) {
+				throw new NumberFormatException();
+			}
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException("ERROR: invalid " + description + ", " + value);
+		}
+		parameters.put(parameter, value);
+	}
+
+	static boolean isValidAuth(String auth) {
+		String[] split = auth.split(":");
+		return auth.contains(":") && split.length == 2
+				&& StringUtils.isNotBlank(split[0]) && StringUtils.isNotBlank(split[1]);
+	}
+
+	private int getThreadCount(String value) {
+		final int threads;
+		try {
+			threads = Integer.parseInt(value.trim());
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException("ERROR: invalid thread count, " + value);
+		}
+		if (threads < 1) {
+			throw new IllegalArgumentException("ERROR: invalid thread count, " + value);
+		}
+		return threads;
+	}
+
+	/*
+	 * --basic, --direct and --indirect may be combined. Each takes the url of
+	 * its container, or uses --server when given without one. --server alone
+	 * is a basic container.
+	 */
+	private Map<ContainerType, String> getSelectedContainers(OptionsHandler options) {
+		final String server = options.hasOptionWithValue("server") ? options.getOptionValue("server") : null;
+		final Map<ContainerType, String> containers = new EnumMap<>(ContainerType.class);
+		for (ContainerType type : ContainerType.values()) {
+			final String option = type.name().toLowerCase(Locale.ENGLISH);
+			if (options.hasOptionWithValue(option)) {
+				containers.put(type, options.getOptionValue(option));
+			} else if (options.hasOption(option)) {
+				if (server == null) {
+					throw new IllegalArgumentException("ERROR: missing server uri for --" + option);
+				}
+				containers.put(type, server);
+			}
+		}
+
+		if (containers.isEmpty()) {
+			if (server == null) {
+				throw new IllegalArgumentException("ERROR: missing server uri");
+			}
+			containers.put(ContainerType.BASIC, server);
 		}
+
+		return containers;
 	}
 
 	public void addTestClass(String klass) {
@@ -375,7 +636,91 @@ public class LdpTestSuite {
 	}
 
 	public void run() {
+		assignTestClasses();
+		if (rerunFrom != null && !selectRerunTestCases()) {
+			System.out.println("No failed or skipped tests to rerun in " + rerunFrom);
+			return;
+		}
+
 		testng.run();
+
+		if (earlReporter != null && earlReporter.getError() != null) {
+			throw new UncheckedIOException("could not write the EARL report", earlReporter.getError());
+		}
+
+		if (rerunFrom != null && earlReporter != null) {
+			mergeRerunReport();
+		}
+	}
+
+	/*
+	 * Selects the tests that didn't pass in the previous report. The tests
+	 * they depend on run as well.
+	 */
+	private boolean selectRerunTestCases() {
+		final List<Class<?>> classes = new ArrayList<>();
+		for (XmlTest test : testTargets.keySet()) {
+			for (XmlClass klass : test.getXmlClasses()) {
+				classes.add(klass.getSupportClass());
+			}
+		}
+
+		final TestCaseIndex index = new TestCaseIndex(classes);
+		final Set<String> testCases = new HashSet<>();
+		for (String testCase : LdpReportMerger.getNonPassingTestCases(rerunReport)) {
+			final Class<?> testClass = index.getTestClass(testCase);
+			if (testClass == null) {
+				System.err.println("WARNING: unknown test case in " + rerunFrom + ", " + testCase);
+			} else {
+				testCases.add(DependencyGraph.key(testClass, index.getMethod(testCase).getName()));
+			}
+		}
+
+		methodSelector.setTestCases(testCases);
+		return !testCases.isEmpty();
+	}
+
+	/*
+	 * Replaces the outcomes of the previous report with those of the rerun.
+	 */
+	private void mergeRerunReport() {
+		final LdpReportMerger merger = new LdpReportMerger();
+		if (StringUtils.isNotBlank(reportTitle)) {
+			merger.setTitle(reportTitle);
+		}
+		merger.setOutputDirectory(outputDir);
+
+		final File rerunFile = earlReporter.getTurtleFile();
+		final Map<String, Model> reports = new LinkedHashMap<>();
+		reports.put(rerunFrom, rerunReport);
+		reports.put(rerunFile.getPath(), RDFDataMgr.loadModel(rerunFile.getPath()));
+		try {
+			merger.merge(reports);
+		} catch (IOException e) {
+			System.err.println("ERROR: could not update the EARL report, " + e.getLocalizedMessage());
+		}
+	}
+
+	/*
+	 * Each test gets the classes for its container types followed by its own
+	 * copy of the common test classes, including those added after setup. The
+	 * common classes share one fixture per test whatever the container types.
+	 */
+	private void assignTestClasses() {
+		for (Map.Entry<XmlTest, Target> entry : testTargets.entrySet()) {
+			final XmlTest test = entry.getKey();
+			final List<XmlClass> classes = new ArrayList<>();
+			for (ContainerType type : entry.getValue().getContainers().keySet()) {
+				classes.add(new XmlClass(type.testClass));
+			}
+			for (XmlClass klass : classList) {
+				classes.add((XmlClass) klass.clone());
+			}
+			test.setXmlClasses(classes);
+			if (test.getParallel() == XmlSuite.ParallelMode.CLASSES) {
+				test.setThreadCount(classes.size());
+			}
+		}
 	}
 
 	public int getStatus() {
@@ -386,6 +731,19 @@ public class LdpTestSuite {
 		return outputDir;
 	}
 
+	/**
+	 * @return the report files of the run, written once it has finished
+	 */
+	public List<File> getReportFiles() {
+		final List<File> reports = new ArrayList<>();
+		reports.add(htmlReporter.getReportFile());
+		if (earlReporter != null) {
+			reports.add(earlReporter.getTurtleFile());
+			reports.add(earlReporter.getJsonLdFile());
+		}
+		return reports;
+	}
+
 	public static CommandLine getCommandLine(Options options, String[] args){
 		CommandLineParser parser = new BasicParser();
 		CommandLine cmd = null;
@@ -406,9 +764,29 @@ public class LdpTestSuite {
 		executeTestSuite(args, options, reportTitle, Collections.<XmlClass>emptyList());
 	}
 	public static void executeTestSuite(String[] args, Options options, String reportTitle, List<XmlClass> classes) {
+		CommandLine cmd = LdpTestSuite.getCommandLine(options, args);
+		if (cmd.hasOption("connect")) {
+			final String address = cmd.getOptionValue("connect", LdpTestSuiteDaemon.DEFAULT_ADDRESS);
+			try {
+				System.exit(LdpTestSuiteDaemon.submit(address, args));
+			} catch (IOException e) {
+				System.err.println("ERROR: could not run the tests on the daemon at " + address + ", " + e.getLocalizedMessage());
+				System.exit(-1);
+			}
+		}
+
+		if (cmd.hasOption("daemon")) {
+			final String address = cmd.getOptionValue("daemon", LdpTestSuiteDaemon.DEFAULT_ADDRESS);
+			try {
+				new LdpTestSuiteDaemon(options, reportTitle, classes).serve(address);
+			} catch (IOException e) {
+				System.err.println("ERROR: could not start the daemon at " + address + ", " + e.getLocalizedMessage());
+				System.exit(-1);
+			}
+		}
+
 		// actual test suite execution
 		try {
-			CommandLine cmd = LdpTestSuite.getCommandLine(options, args);
 			LdpTestSuite ldpTestSuite = new LdpTestSuite(cmd, reportTitle);
 			ldpTestSuite.addTestClasses(classes);
 			ldpTestSuite.run();
@@ -423,6 +801,11 @@ public class LdpTestSuite {
 
 
 	private static void printUsage(Options options) {
+		printHelp(options);
+		System.exit(-1);
+	}
+
+	static void printHelp(Options options) {
 		HelpFormatter formatter = new HelpFormatter();
 		formatter.setOptionComparator(new Comparator<Option>() {
 			@Override
@@ -439,24 +822,29 @@ public class LdpTestSuite {
 		System.out.println();
 		formatter.printHelp("java -jar ldp-testsuite.jar", options);
 		System.out.println();
-		System.exit(-1);
 	}
 
-	private static void printEarlUsage(String missingArg) {
-		System.out.println("--earl missing arg: "+missingArg);
-		System.out.println("Required additional args:");
+	private static IllegalArgumentException earlUsageError(String missingArg) {
+		StringBuilder message = new StringBuilder("ERROR: --earl missing arg: ").append(missingArg)
+				.append(", required additional args:");
 		for (String arg: EARLDEPEDENTARGS) {
-			System.out.println("\t--"+arg);
+			message.append(" --").append(arg);
 		}
-		System.exit(1);
+		return new IllegalArgumentException(message.toString());
 	}
 
 	@SuppressWarnings("static-access")
 	public static Options addCommonOptions() {
 		Options common = new Options();
 		common.addOption(OptionBuilder.withLongOpt("server")
-				.withDescription("server url to run the test suite").hasArg()
-				.withArgName("server").isRequired().create());
+				.withDescription("server url to run the test suite (required unless --targets "
+						+ "or container urls are given)").hasArg()
+				.withArgName("server").create());
+
+		common.addOption(OptionBuilder.withLongOpt("targets")
+				.withDescription("file listing servers to run the test suite against concurrently, "
+						+ "one per line as: basic|direct|indirect url [username:password]").hasArg()
+				.withArgName("file").isRequired(false).create());
 
 		common.addOption(OptionBuilder.withLongOpt("auth")
 				.withDescription("server basic authentication credentials following the syntax username:password").hasArg()
@@ -481,11 +869,55 @@ public class LdpTestSuite {
 				.hasArgs().withArgName("test names")
 				.create());
 
+		common.addOption(OptionBuilder.withLongOpt("test-class")
+				.withDescription("test classes to run, by simple or qualified name (* is a wildcard)")
+				.hasArgs().withArgName("class names")
+				.create());
+
+		common.addOption(OptionBuilder.withLongOpt("approval")
+				.withDescription("approval status of the tests to run, for instance WG_APPROVED (* is a wildcard)")
+				.hasArgs().withArgName("status")
+				.create());
+
+		common.addOption(OptionBuilder.withLongOpt("spec-test-method")
+				.withDescription("how the tests to run are implemented, for instance AUTOMATED (* is a wildcard)")
+				.hasArgs().withArgName("method")
+				.create());
+
+		common.addOption(OptionBuilder.withLongOpt("spec-ref")
+				.withDescription("specification sections the tests to run cover, "
+						+ "by uri or fragment such as #ldpc-* (* is a wildcard)")
+				.hasArgs().withArgName("uri")
+				.create());
+
+		common.addOption(OptionBuilder.withLongOpt("shard")
+				.withDescription("run only part i of n of the selected tests, "
+						+ "see org.w3.ldp.testsuite.reporter.RunLdpReportMerger to combine the reports")
+				.hasArg().withArgName("i/n")
+				.isRequired(false).create());
+
+		common.addOption(OptionBuilder.withLongOpt("rerun-from")
+				.withDescription("rerun the failed and skipped tests of a previous EARL report "
+						+ "and update it with the new outcomes (with --earl)")
+				.hasArg().withArgName("earl.ttl")
+				.isRequired(false).create());
+
 		common.addOption(OptionBuilder.withLongOpt("output")
 				.withDescription("output directory (current directory by default)")
 				.hasArgs().withArgName("output")
 				.isRequired(false).create());
 
+		common.addOption(OptionBuilder.withLongOpt("threads")
+				.withDescription("number of threads used to run test methods in parallel (serial by default)")
+				.hasArg().withArgName("threads")
+				.isRequired(false).create());
+
+		common.addOption(OptionBuilder.withLongOpt("virtual-threads")
+				.withDescription("run test methods in parallel on virtual threads (Java 21 or later), "
+						+ DEFAULT_VIRTUAL_THREADS + " at a time unless --threads is given; serial or --threads "
+						+ "platform threads on older versions")
+				.isRequired(false).create());
+
 		common.addOption(OptionBuilder.withLongOpt("httpLogging")
 				.withDescription("log HTTP requests and responses on validation failures")
 				.isRequired(false).create());
@@ -494,6 +926,108 @@ public class LdpTestSuite {
 				.withDescription("log skip test messages")
 				.isRequired(false).create());
 
+		common.addOption(OptionBuilder.withLongOpt("fail-fast")
+				.withDescription("skip the remaining tests when the server is unreachable or mostly "
+						+ "answers with 5xx errors")
+				.isRequired(false).create());
+
+		common.addOption(OptionBuilder.withLongOpt("probe-interval")
+				.withDescription("with --fail-fast, seconds before trying the server again and "
+						+ "resuming the tests if it answers")
+				.hasArg().withArgName("seconds")
+				.isRequired(false).create());
+
+		common.addOption(OptionBuilder.withLongOpt("max-connections")
+				.withDescription("keep-alive connections kept open per server ("
+						+ PooledHttpClientFactory.DEFAULT_MAX_CONNECTIONS_PER_ROUTE + " by default)")
+				.hasArg().withArgName("connections")
+				.isRequired(false).create());
+
+		common.addOption(OptionBuilder.withLongOpt("idle-timeout")
+				.withDescription("seconds before closing an unused connection ("
+						+ PooledHttpClientFactory.DEFAULT_IDLE_TIMEOUT_SECONDS + " by default)")
+				.hasArg().withArgName("seconds")
+				.isRequired(false).create());
+
+		common.addOption(OptionBuilder.withLongOpt("keep-alive")
+				.withDescription("seconds to keep a connection open when the server doesn't say ("
+						+ PooledHttpClientFactory.DEFAULT_KEEP_ALIVE_SECONDS + " by default)")
+				.hasArg().withArgName("seconds")
+				.isRequired(false).create());
+
+		common.addOption(OptionBuilder.withLongOpt("max-rps")
+				.withDescription("requests per second to each server, for instance 0.5, counting the retries "
+						+ "(no limit by default)")
+				.hasArg().withArgName("rps")
+				.isRequired(false).create());
+
+		common.addOption(OptionBuilder.withLongOpt("max-in-flight")
+				.withDescription("requests in progress at once to each server, across all threads (no limit by default)")
+				.hasArg().withArgName("requests")
+				.isRequired(false).create());
+
+		common.addOption(OptionBuilder.withLongOpt("retries")
+				.withDescription("times to send a GET, HEAD, OPTIONS, DELETE or conditional PUT again after a 502, 503 "
+						+ "or 504 response or a network error (" + RetryPolicy.DEFAULT_RETRIES + " by default, 0 to not retry)")
+				.hasArg().withArgName("retries")
+				.isRequired(false).create());
+
+		common.addOption(OptionBuilder.withLongOpt("cache")
+				.withDescription("reuse the parsed representations of resources read by several tests "
+						+ "while their ETag doesn't change")
+				.isRequired(false).create());
+
+		common.addOption(OptionBuilder.withLongOpt("graph")
+				.withDescription("graph of the representations the tests only read: mutable (default), Jena's "
+						+ "fully indexed graph, or compact, a frozen graph indexed by subject and predicate only "
+						+ "that takes less memory")
+				.hasArg().withArgName("type")
+				.isRequired(false).create());
+
+		common.addOption(OptionBuilder.withLongOpt("binary-size")
+				.withDescription("size of the binaries POSTed by the LDP-NR tests, in bytes or with a K, M or G suffix, "
+						+ "streamed from a generator instead of the default PNG image")
+				.hasArg().withArgName("size")
+				.isRequired(false).create());
+
+		common.addOption(OptionBuilder.withLongOpt("capabilities")
+				.withDescription("file keeping what the server advertises for the tested resources (Allow, Accept-Post, "
+						+ "Accept-Patch, interaction models) between runs, delete it when the server changes")
+				.hasArg().withArgName("file")
+				.isRequired(false).create());
+
+		common.addOption(OptionBuilder.withLongOpt("compression")
+				.withDescription("content codings to ask for, separated by commas: " + ContentEncodings.GZIP + ", "
+						+ ContentEncodings.DEFLATE + " (both by default) or " + ContentEncodings.NONE
+						+ ". The bodies are decoded as they're read")
+				.hasArg().withArgName("codings")
+				.isRequired(false).create());
+
+		common.addOption(OptionBuilder.withLongOpt("transport")
+				.withDescription("how to send the requests: " + HttpTransport.REST_ASSURED + " (default), "
+						+ HttpTransport.JDK + " for the Java HTTP client with HTTP/2, or the name of a class implementing "
+						+ HttpTransport.class.getName())
+				.hasArg().withArgName("transport")
+				.isRequired(false).create());
+
+		common.addOption(OptionBuilder.withLongOpt("http-version")
+				.withDescription("with --transport " + HttpTransport.JDK + ", 2 (default) for h2 over TLS "
+						+ "and h2c by upgrade otherwise, or 1.1")
+				.hasArg().withArgName("version")
+				.isRequired(false).create());
+
+		common.addOption(OptionBuilder.withLongOpt("daemon")
+				.withDescription("stay resident and run the tests for each request sent with --connect, "
+						+ "listening on a loopback port or a Unix socket path (" + LdpTestSuiteDaemon.DEFAULT_ADDRESS
+						+ " by default)")
+				.hasOptionalArg().withArgName("port|path")
+				.isRequired(false).create());
+
+		common.addOption(OptionBuilder.withLongOpt("connect")
+				.withDescription("run the tests with the other options on a daemon started with --daemon")
+				.hasOptionalArg().withArgName("port|path")
+				.isRequired(false).create());
+
 		common.addOption(OptionBuilder.withLongOpt("help")
 				.withDescription("prints this usage help")
 				.isRequired(false).create());
@@ -0,0 +1,290 @@
+package org.w3.ldp.testsuite;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.commons.cli.BasicParser;
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.Options;
+import org.apache.commons.cli.ParseException;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.testng.xml.XmlClass;
+
+/**
+ * Keeps the test suite resident between runs (see {@code --daemon}), so a
+ * run doesn't pay for JVM startup, RDF and HTTP library initialization and
+ * JIT warm-up again. Runs are requested with {@code --connect} and execute
+ * one at a time.
+ *
+ * <p>
+ * The protocol is line based, in UTF-8. A request is the command-line
+ * arguments, one per line, ended by an empty line. The daemon answers with
+ * the output of the run as {@code out <line>} and {@code err <line>}, then a
+ * {@code report <path>} line per report file and a final
+ * {@code status <exit status>} line.
+ * </p>
+ *
+ * <p>
+ * A numeric address is a port on the loopback interface, anything else is a
+ * Unix socket path. Any local user able to connect can run tests.
+ * </p>
+ *
+ * <p>
+ * The daemon may run in another directory than the client, so the client
+ * sends the files and directories of the options as absolute paths.
+ * </p>
+ */
+class LdpTestSuiteDaemon {
+
+	static final String DEFAULT_ADDRESS = "7077";
+
+	/** Options whose values are files or directories */
+	private static final Set<String> PATH_OPTIONS = new HashSet<>(Arrays.asList(
+			"--output", "--targets", "--rerun-from", "--capabilities"));
+
+	private final Options options;
+	private final String reportTitle;
+	private final List<XmlClass> classes;
+
+	LdpTestSuiteDaemon(Options options, String reportTitle, List<XmlClass> classes) {
+		this.options = options;
+		this.reportTitle = reportTitle;
+		this.classes = classes;
+	}
+
+	/**
+	 * Serves run requests until the JVM stops.
+	 *
+	 * @param address a loopback port or a Unix socket path
+	 * @throws IOException if the address can't be bound
+	 */
+	void serve(String address) throws IOException {
+		final SocketAddress socketAddress = toSocketAddress(address);
+		final ServerSocketChannel server;
+		if (socketAddress instanceof UnixDomainSocketAddress) {
+			final Path path = ((UnixDomainSocketAddress) socketAddress).getPath();
+			Files.deleteIfExists(path); // left behind by a daemon that was killed
+			server = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+			Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+				try {
+					Files.deleteIfExists(path);
+				} catch (IOException e) {
+					// nothing left to do
+				}
+			}));
+		} else {
+			server = ServerSocketChannel.open();
+		}
+		server.bind(socketAddress);
+		System.out.println("Test suite daemon listening on " + address + ", run the tests with --connect " + address);
+
+		while (true) {
+			try (SocketChannel channel = server.accept()) {
+				handle(channel);
+			} catch (IOException e) {
+				System.err.println("ERROR: run request failed, " + e.getLocalizedMessage());
+			}
+		}
+	}
+
+	private void handle(SocketChannel channel) throws IOException {
+		final BufferedReader reader = new BufferedReader(
+				new InputStreamReader(Channels.newInputStream(channel), StandardCharsets.UTF_8));
+		final List<String> args = new ArrayList<>();
+		for (String line = reader.readLine(); line != null && !line.isEmpty(); line = reader.readLine()) {
+			args.add(line);
+		}
+
+		final PrintWriter writer = new PrintWriter(
+				new OutputStreamWriter(Channels.newOutputStream(channel), StandardCharsets.UTF_8));
+		System.out.println("Running " + StringUtils.join(args, " "));
+
+		final PrintStream stdout = System.out;
+		final PrintStream stderr = System.err;
+		final LineOutputStream out = new LineOutputStream("out", writer);
+		final LineOutputStream err = new LineOutputStream("err", writer);
+		final List<File> reports = new ArrayList<>();
+		int status;
+		System.setOut(new PrintStream(out, true, StandardCharsets.UTF_8));
+		System.setErr(new PrintStream(err, true, StandardCharsets.UTF_8));
+		try {
+			status = run(args.toArray(new String[args.size()]), reports);
+		} finally {
+			System.setOut(stdout);
+			System.setErr(stderr);
+			out.close();
+			err.close();
+		}
+
+		for (File report : reports) {
+			writer.println("report " + report.getAbsolutePath());
+		}
+		writer.println("status " + status);
+		writer.flush();
+		System.out.println("Finished with status " + status);
+	}
+
+	/*
+	 * Runs the tests like LdpTestSuite.executeTestSuite() without exiting.
+	 */
+	private int run(String[] args, List<File> reports) {
+		final CommandLine cmd;
+		try {
+			cmd = new BasicParser().parse(options, args);
+		} catch (ParseException e) {
+			System.err.println("ERROR: " + e.getLocalizedMessage());
+			LdpTestSuite.printHelp(options);
+			return -1;
+		}
+
+		if (cmd.hasOption("help")) {
+			LdpTestSuite.printHelp(options);
+			return -1;
+		}
+
+		if (cmd.hasOption("daemon") || cmd.hasOption("connect")) {
+			System.err.println("ERROR: --daemon and --connect can't be used in a run request");
+			return -1;
+		}
+
+		try {
+			LdpTestSuite ldpTestSuite = new LdpTestSuite(cmd, reportTitle);
+			ldpTestSuite.addTestClasses(classes);
+			ldpTestSuite.run();
+			reports.addAll(ldpTestSuite.getReportFiles());
+			return ldpTestSuite.getStatus();
+		} catch (Exception e) {
+			e.printStackTrace();
+			Throwable cause = ExceptionUtils.getRootCause(e);
+			System.err.println("ERROR: " + (cause != null ? cause.getMessage() : e.getMessage()));
+			return -1;
+		}
+	}
+
+	/**
+	 * Runs the tests on a daemon and prints their output.
+	 *
+	 * @param address the daemon address, a loopback port or a Unix socket path
+	 * @param args the command-line arguments, {@code --connect} is left out
+	 *            and the paths are made absolute
+	 * @return the exit status of the run
+	 * @throws IOException if the daemon can't be reached
+	 */
+	static int submit(String address, String[] args) throws IOException {
+		try (SocketChannel channel = SocketChannel.open(toSocketAddress(address))) {
+			final PrintWriter writer = new PrintWriter(
+					new OutputStreamWriter(Channels.newOutputStream(channel), StandardCharsets.UTF_8));
+			for (int i = 0; i < args.length; i++) {
+				if ("--connect".equals(args[i])) {
+					if (i + 1 < args.length && !args[i + 1].startsWith("-")) {
+						i++; // the address
+					}
+					continue;
+				}
+				writer.println(args[i]);
+				if (PATH_OPTIONS.contains(args[i])) {
+					for (; i + 1 < args.length && !args[i + 1].startsWith("-"); i++) {
+						writer.println(Paths.get(args[i + 1]).toAbsolutePath());
+					}
+				}
+			}
+			writer.println();
+			writer.flush();
+
+			final BufferedReader reader = new BufferedReader(
+					new InputStreamReader(Channels.newInputStream(channel), StandardCharsets.UTF_8));
+			final List<String> reports = new ArrayList<>();
+			for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+				final String value = StringUtils.substringAfter(line, " ");
+				if (line.startsWith("out ")) {
+					System.out.println(value);
+				} else if (line.startsWith("err ")) {
+					System.err.println(value);
+				} else if (line.startsWith("report ")) {
+					reports.add(value);
+				} else if (line.startsWith("status ")) {
+					if (!reports.isEmpty()) {
+						System.out.println("Reports:");
+						for (String report : reports) {
+							System.out.println("\t" + report);
+						}
+					}
+					return Integer.parseInt(value);
+				}
+			}
+		}
+
+		throw new IOException("the daemon closed the connection before the run finished");
+	}
+
+	private static SocketAddress toSocketAddress(String address) {
+		if (address.matches("\\d+")) {
+			return new InetSocketAddress(InetAddress.getLoopbackAddress(), Integer.parseInt(address));
+		}
+		return UnixDomainSocketAddress.of(address);
+	}
+
+	/**
+	 * Sends each line written as a protocol line of the given channel.
+	 */
+	private static class LineOutputStream extends OutputStream {
+
+		private final String channel;
+		private final PrintWriter writer;
+		private final ByteArrayOutputStream line = new ByteArrayOutputStream();
+
+		LineOutputStream(String channel, PrintWriter writer) {
+			this.channel = channel;
+			this.writer = writer;
+		}
+
+		@Override
+		public synchronized void write(int b) {
+			if (b == '\n') {
+				sendLine();
+			} else if (b != '\r') {
+				line.write(b);
+			}
+		}
+
+		@Override
+		public synchronized void close() {
+			if (line.size() > 0) {
+				sendLine();
+			}
+		}
+
+		private void sendLine() {
+			synchronized (writer) {
+				writer.println(channel + " " + line.toString(StandardCharsets.UTF_8));
+				writer.flush();
+			}
+			line.reset();
+		}
+	}
+}
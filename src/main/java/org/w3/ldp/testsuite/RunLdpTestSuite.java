@@ -1,7 +1,6 @@
 package org.w3.ldp.testsuite;
 
 import org.apache.commons.cli.OptionBuilder;
-import org.apache.commons.cli.OptionGroup;
 import org.apache.commons.cli.Options;
 import org.apache.log4j.Level;
 import org.apache.log4j.Logger;
@@ -28,18 +27,19 @@ public class RunLdpTestSuite {
 	
 	@SuppressWarnings("static-access")
 	private static void addContainerOptions() {
-		OptionGroup containerType = new OptionGroup();
-		containerType.addOption(OptionBuilder.withLongOpt("basic")
-				.withDescription("the server url is a basic container")
+		// may be combined to test each container type concurrently
+		options.addOption(OptionBuilder.withLongOpt("basic")
+				.withDescription("test a basic container, the server url unless one is given (default)")
+				.hasOptionalArg().withArgName("url")
 				.create());
-		containerType.addOption(OptionBuilder.withLongOpt("direct")
-				.withDescription("the server url is a direct container")
+		options.addOption(OptionBuilder.withLongOpt("direct")
+				.withDescription("test a direct container, the server url unless one is given")
+				.hasOptionalArg().withArgName("url")
 				.create());
-		containerType.addOption(OptionBuilder.withLongOpt("indirect")
-				.withDescription("the server url is an indirect container")
+		options.addOption(OptionBuilder.withLongOpt("indirect")
+				.withDescription("test an indirect container, the server url unless one is given")
+				.hasOptionalArg().withArgName("url")
 				.create());
-		containerType.setRequired(true);
-		options.addOptionGroup(containerType);
 	}
 	
 	@SuppressWarnings("static-access")
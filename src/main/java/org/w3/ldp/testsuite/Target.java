@@ -0,0 +1,122 @@
+package org.w3.ldp.testsuite;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.commons.lang3.StringUtils;
+import org.w3.ldp.testsuite.LdpTestSuite.ContainerType;
+
+/**
+ * A server the test suite runs against: the container urls by interaction
+ * model and optional basic authentication credentials.
+ */
+class Target {
+
+	private final Map<ContainerType, String> containers;
+	private final String auth;
+
+	Target(ContainerType type, String server, String auth) {
+		this(Collections.singletonMap(type, server), auth);
+	}
+
+	Target(Map<ContainerType, String> containers, String auth) {
+		this.containers = Collections.unmodifiableMap(new EnumMap<>(containers));
+		this.auth = auth;
+	}
+
+	/**
+	 * Reads a targets file. Each line describes one target as
+	 * {@code basic|direct|indirect <url> [username:password]}. Blank lines and
+	 * lines starting with {@code #} are ignored.
+	 *
+	 * @param file the targets file
+	 * @return the targets in file order
+	 * @throws IOException if the file can't be read
+	 */
+	static List<Target> load(File file) throws IOException {
+		List<Target> targets = new ArrayList<>();
+		Set<String> names = new HashSet<>();
+		int lineNumber = 0;
+		for (String line : Files.readAllLines(file.toPath(), StandardCharsets.UTF_8)) {
+			lineNumber++;
+			line = line.trim();
+			if (line.isEmpty() || line.startsWith("#")) {
+				continue;
+			}
+
+			String[] fields = line.split("\\s+");
+			if (fields.length < 2 || fields.length > 3) {
+				throw new IllegalArgumentException("ERROR: invalid target at line " + lineNumber + ", " + line);
+			}
+
+			final ContainerType type;
+			try {
+				type = ContainerType.valueOf(fields[0].toUpperCase(Locale.ENGLISH));
+			} catch (IllegalArgumentException e) {
+				throw new IllegalArgumentException("ERROR: invalid container type at line " + lineNumber + ", " + fields[0]);
+			}
+
+			String auth = fields.length == 3 ? fields[2] : null;
+			if (auth != null && !LdpTestSuite.isValidAuth(auth)) {
+				throw new IllegalArgumentException("ERROR: invalid basic authentication credentials at line " + lineNumber);
+			}
+
+			Target target = new Target(type, fields[1], auth);
+			if (!names.add(target.getName())) {
+				throw new IllegalArgumentException("ERROR: duplicate target at line " + lineNumber + ", " + target.getName());
+			}
+			targets.add(target);
+		}
+
+		if (targets.isEmpty()) {
+			throw new IllegalArgumentException("ERROR: no targets in " + file);
+		}
+
+		return targets;
+	}
+
+	/**
+	 * @return the container urls by container type, in declaration order of
+	 *         the types
+	 */
+	public Map<ContainerType, String> getContainers() {
+		return containers;
+	}
+
+	/**
+	 * @return the basic authentication credentials, or null to use the
+	 *         suite-wide {@code auth} parameter
+	 */
+	public String getAuth() {
+		return auth;
+	}
+
+	/**
+	 * @return a name for the target, unique within a run
+	 */
+	public String getName() {
+		StringBuilder name = new StringBuilder();
+		for (Map.Entry<ContainerType, String> container : containers.entrySet()) {
+			if (name.length() > 0) {
+				name.append(", ");
+			}
+			name.append(StringUtils.lowerCase(container.getKey().name())).append(" ").append(container.getValue());
+		}
+		return name.toString();
+	}
+
+	@Override
+	public String toString() {
+		return getName();
+	}
+}
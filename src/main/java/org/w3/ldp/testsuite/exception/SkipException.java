@@ -20,7 +20,12 @@ public class SkipException extends org.testng.SkipException {
 	public SkipException(String test, String skipMessage, PrintWriter skipLog) {
 		super(skipMessage);
 		if (skipLog != null) {
-			skipLog.println(String.format("[%s] skipped test %s: %s", df.format(new Date()), test, skipMessage));
+			final String date;
+			// DateFormat is not thread safe and tests might run in parallel
+			synchronized (df) {
+				date = df.format(new Date());
+			}
+			skipLog.println(String.format("[%s] skipped test %s: %s", date, test, skipMessage));
 		}
 	}
 
@@ -0,0 +1,56 @@
+package org.w3.ldp.testsuite.http;
+
+import java.net.URI;
+
+import com.jayway.restassured.filter.Filter;
+import com.jayway.restassured.filter.FilterContext;
+import com.jayway.restassured.http.Method;
+import com.jayway.restassured.response.Response;
+import com.jayway.restassured.specification.FilterableRequestSpecification;
+import com.jayway.restassured.specification.FilterableResponseSpecification;
+
+/**
+ * Invalidates the cached representations of the request URI after an unsafe
+ * request, as well as those of its {@code Location} and
+ * {@code Content-Location} response headers (RFC 7234, section 4.4).
+ */
+public class CacheInvalidationFilter implements Filter {
+
+	private final ModelCache cache;
+
+	public CacheInvalidationFilter(ModelCache cache) {
+		this.cache = cache;
+	}
+
+	@Override
+	public Response filter(FilterableRequestSpecification requestSpec,
+			FilterableResponseSpecification responseSpec, FilterContext ctx) {
+		final Method method = requestSpec.getMethod();
+		if (method == Method.GET || method == Method.HEAD || method == Method.OPTIONS || method == Method.TRACE) {
+			return ctx.next(requestSpec, responseSpec);
+		}
+
+		final String uri = requestSpec.getURI();
+		Response response = null;
+		try {
+			response = ctx.next(requestSpec, responseSpec);
+			return response;
+		} finally {
+			cache.invalidate(uri);
+			if (response != null) {
+				invalidate(uri, response.getHeader(HttpHeaders.LOCATION));
+				invalidate(uri, response.getHeader(HttpHeaders.CONTENT_LOCATION));
+			}
+		}
+	}
+
+	private void invalidate(String requestUri, String location) {
+		if (location != null) {
+			try {
+				cache.invalidate(URI.create(requestUri).resolve(location).toString());
+			} catch (IllegalArgumentException e) {
+				// not a URI, nothing cached for it
+			}
+		}
+	}
+}
@@ -0,0 +1,164 @@
+package org.w3.ldp.testsuite.http;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * The {@link ServerCapabilities} of each resource, probed once per run
+ * rather than by each test class.
+ *
+ * <p>
+ * With {@code --capabilities}, the registry is read from a file before the
+ * run and written back after it, so a rerun doesn't probe the resources
+ * again. Resources the tests create are {@link #forget(String) forgotten}
+ * when they're deleted, they have a new URI on each run. Delete the file
+ * when the server changes.
+ * </p>
+ */
+public class CapabilityRegistry {
+
+	/*
+	 * Futures so a resource is probed once, without holding the lock of the
+	 * map during the request.
+	 */
+	private final ConcurrentMap<String, CompletableFuture<ServerCapabilities>> capabilities = new ConcurrentHashMap<>();
+
+	private volatile boolean modified;
+
+	/**
+	 * Gets the capabilities of a resource, probing them the first time. Other
+	 * threads asking for the same resource wait for the probe.
+	 *
+	 * @param uri the resource URI
+	 * @param probe probes the capabilities of a URI
+	 * @return the capabilities
+	 */
+	public ServerCapabilities get(String uri, Function<String, ServerCapabilities> probe) {
+		CompletableFuture<ServerCapabilities> future = capabilities.get(uri);
+		if (future == null) {
+			final CompletableFuture<ServerCapabilities> probing = new CompletableFuture<>();
+			future = capabilities.putIfAbsent(uri, probing);
+			if (future == null) {
+				try {
+					probing.complete(probe.apply(uri));
+					modified = true;
+				} catch (RuntimeException | Error e) {
+					// the next call probes again
+					capabilities.remove(uri, probing);
+					probing.completeExceptionally(e);
+					throw e;
+				}
+				future = probing;
+			}
+		}
+
+		try {
+			return future.join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw e;
+		}
+	}
+
+	/**
+	 * Forgets a resource created by the tests, so it isn't saved.
+	 *
+	 * @param uri the resource URI
+	 */
+	public void forget(String uri) {
+		if (capabilities.remove(uri) != null) {
+			modified = true;
+		}
+	}
+
+	/**
+	 * @return whether resources were probed since the registry was created or loaded
+	 */
+	public boolean isModified() {
+		return modified;
+	}
+
+	/**
+	 * Reads the capabilities saved by {@link #save(File)}.
+	 *
+	 * @param file the file, nothing is read if it doesn't exist
+	 * @throws IOException if the file can't be read
+	 */
+	public void load(File file) throws IOException {
+		if (!file.exists()) {
+			return;
+		}
+
+		final Properties properties = new Properties();
+		try (Reader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+			properties.load(reader);
+		}
+		for (int i = 0; properties.containsKey(i + ".uri"); i++) {
+			capabilities.put(properties.getProperty(i + ".uri"), CompletableFuture.completedFuture(new ServerCapabilities(
+					split(properties.getProperty(i + ".allow")),
+					split(properties.getProperty(i + ".acceptPost")),
+					split(properties.getProperty(i + ".acceptPatch")),
+					split(properties.getProperty(i + ".interactionModels")))));
+		}
+	}
+
+	/**
+	 * Writes the capabilities, see {@link #load(File)}.
+	 *
+	 * @param file the file
+	 * @throws IOException if the file can't be written
+	 */
+	public void save(File file) throws IOException {
+		final Properties properties = new Properties();
+		int i = 0;
+		for (Map.Entry<String, CompletableFuture<ServerCapabilities>> entry : new TreeMap<>(capabilities).entrySet()) {
+			if (!entry.getValue().isDone() || entry.getValue().isCompletedExceptionally()) {
+				continue;
+			}
+			final ServerCapabilities value = entry.getValue().join();
+			properties.setProperty(i + ".uri", entry.getKey());
+			properties.setProperty(i + ".allow", join(value.getAllowedMethods()));
+			properties.setProperty(i + ".acceptPost", join(value.getAcceptPost()));
+			properties.setProperty(i + ".acceptPatch", join(value.getAcceptPatch()));
+			properties.setProperty(i + ".interactionModels", join(value.getInteractionModels()));
+			i++;
+		}
+
+		final File dir = file.getAbsoluteFile().getParentFile();
+		if (dir != null) {
+			dir.mkdirs();
+		}
+		try (Writer writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+			properties.store(writer, "LDP Test Suite: server capabilities");
+		}
+		modified = false;
+	}
+
+	private static String join(Collection<String> values) {
+		return StringUtils.join(values, ", ");
+	}
+
+	private static List<String> split(String value) {
+		return StringUtils.isBlank(value) ? Collections.<String>emptyList() : Arrays.asList(value.trim().split("\\s*,\\s*"));
+	}
+}
@@ -0,0 +1,192 @@
+package org.w3.ldp.testsuite.http;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.w3.ldp.testsuite.exception.SkipException;
+
+import com.jayway.restassured.filter.Filter;
+import com.jayway.restassured.filter.FilterContext;
+import com.jayway.restassured.response.Response;
+import com.jayway.restassured.specification.FilterableRequestSpecification;
+import com.jayway.restassured.specification.FilterableResponseSpecification;
+
+/**
+ * Watches the health of each server under test across the whole suite.
+ * After too many consecutive connection errors, or too many 5xx responses
+ * among the recent ones, the circuit of the server opens and every further
+ * request to it skips its test with the cause instead of waiting for the
+ * server. The other servers of a run with --targets aren't affected.
+ *
+ * <p>
+ * With a probe interval, one request to the server is let through once the
+ * interval has passed (half-open). The circuit closes again if it
+ * succeeds.
+ * </p>
+ */
+public class CircuitBreakerFilter implements Filter {
+
+	public static final int DEFAULT_MAX_CONNECTION_ERRORS = 3;
+	public static final int DEFAULT_WINDOW = 20;
+	public static final double DEFAULT_MAX_SERVER_ERROR_RATE = 0.5;
+
+	enum State {
+		CLOSED, OPEN, HALF_OPEN
+	}
+
+	private final int maxConnectionErrors;
+	private final int window;
+	private final double maxServerErrorRate;
+	private final long probeIntervalMillis;
+
+	/** Keyed by scheme, host and port, see {@link RateLimitFilter#getHost(String)} */
+	private final ConcurrentMap<String, Circuit> circuits = new ConcurrentHashMap<>();
+
+	private volatile PrintWriter skipLog;
+
+	/**
+	 * @param probeIntervalMillis time before letting a request through an
+	 *            open circuit, or 0 to keep it open for the rest of the run
+	 */
+	public CircuitBreakerFilter(long probeIntervalMillis) {
+		this(DEFAULT_MAX_CONNECTION_ERRORS, DEFAULT_WINDOW, DEFAULT_MAX_SERVER_ERROR_RATE, probeIntervalMillis);
+	}
+
+	public CircuitBreakerFilter(int maxConnectionErrors, int window, double maxServerErrorRate, long probeIntervalMillis) {
+		this.maxConnectionErrors = maxConnectionErrors;
+		this.window = window;
+		this.maxServerErrorRate = maxServerErrorRate;
+		this.probeIntervalMillis = probeIntervalMillis;
+	}
+
+	public void setSkipLog(PrintWriter skipLog) {
+		this.skipLog = skipLog;
+	}
+
+	@Override
+	public Response filter(FilterableRequestSpecification requestSpec,
+			FilterableResponseSpecification responseSpec, FilterContext ctx) {
+		final String host = RateLimitFilter.getHost(requestSpec.getURI());
+		final Circuit circuit = circuits.computeIfAbsent(host, Circuit::new);
+		final boolean probe = circuit.beforeRequest(requestSpec);
+		final Response response;
+		try {
+			response = ctx.next(requestSpec, responseSpec);
+		} catch (Exception e) {
+			if (ExceptionUtils.indexOfType(e, IOException.class) >= 0) {
+				circuit.onConnectionError(e, probe);
+			} else {
+				circuit.onRequestEnd(probe);
+			}
+			throw e;
+		}
+
+		circuit.onResponse(response.getStatusCode(), probe);
+		return response;
+	}
+
+	/**
+	 * The state of the circuit of one server.
+	 */
+	private class Circuit {
+
+		private final String host;
+
+		private State state = State.CLOSED;
+		private int connectionErrors; // consecutive
+		private final Deque<Boolean> recentServerErrors = new ArrayDeque<>();
+		private String cause;
+		private long openedAt;
+		private boolean probing;
+
+		Circuit(String host) {
+			this.host = host;
+		}
+
+		/*
+		 * Returns true if the request is the probe of a half-open circuit.
+		 */
+		private synchronized boolean beforeRequest(FilterableRequestSpecification requestSpec) {
+			if (state == State.CLOSED) {
+				return false;
+			}
+
+			if (state == State.OPEN && probeIntervalMillis > 0
+					&& System.currentTimeMillis() - openedAt >= probeIntervalMillis) {
+				state = State.HALF_OPEN;
+			}
+
+			if (state == State.HALF_OPEN && !probing) {
+				probing = true;
+				return true;
+			}
+
+			throw new SkipException(requestSpec.getMethod() + " " + requestSpec.getURI(),
+					"Skipping test because the server " + host + " is unavailable: " + cause, skipLog);
+		}
+
+		private synchronized void onConnectionError(Exception e, boolean probe) {
+			connectionErrors++;
+			if (probe) {
+				open(e.toString());
+			} else if (state == State.CLOSED && connectionErrors >= maxConnectionErrors) {
+				open(connectionErrors + " consecutive connection errors, last " + e);
+			}
+		}
+
+		private synchronized void onResponse(int statusCode, boolean probe) {
+			final boolean serverError = statusCode >= 500;
+			connectionErrors = 0;
+			if (probe) {
+				probing = false;
+				if (serverError) {
+					open("HTTP " + statusCode + " response to the probe request");
+				} else {
+					System.err.println("Server " + host + " available again, resuming its tests");
+					state = State.CLOSED;
+					recentServerErrors.clear();
+				}
+				return;
+			}
+
+			recentServerErrors.addLast(serverError);
+			if (recentServerErrors.size() > window) {
+				recentServerErrors.removeFirst();
+			}
+
+			if (state == State.CLOSED && recentServerErrors.size() == window) {
+				int count = 0;
+				for (Boolean error : recentServerErrors) {
+					if (error) {
+						count++;
+					}
+				}
+				if (count >= maxServerErrorRate * window) {
+					open(count + " of the last " + window + " responses were 5xx server errors");
+				}
+			}
+		}
+
+		private synchronized void onRequestEnd(boolean probe) {
+			if (probe) {
+				probing = false;
+				state = State.OPEN;
+			}
+		}
+
+		private void open(String cause) {
+			if (state == State.CLOSED) {
+				System.err.println("ERROR: server " + host + " unavailable, skipping the remaining requests to it: " + cause);
+			}
+			this.cause = cause;
+			state = State.OPEN;
+			openedAt = System.currentTimeMillis();
+			probing = false;
+		}
+	}
+}
@@ -0,0 +1,108 @@
+package org.w3.ldp.testsuite.http;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+import org.apache.http.HttpStatus;
+
+import com.jayway.restassured.specification.RequestSpecification;
+
+/**
+ * Deletes the resources created by the tests in the background, so the
+ * DELETE requests aren't on the path of the tests. Tests checking what a
+ * deletion does still delete synchronously.
+ *
+ * <p>
+ * A deletion failing with a server error or an exception is retried. The
+ * resources that couldn't be deleted are reported by {@link #drain()}.
+ * </p>
+ */
+public class CleanupQueue {
+
+	public static final int DEFAULT_ATTEMPTS = 3;
+
+	/** Delay before the first retry, doubled for each retry after it */
+	private static final long RETRY_DELAY_MILLIS = 250;
+
+	private final Executor executor;
+	private final int attempts;
+
+	private final Set<CompletableFuture<Void>> pending = ConcurrentHashMap.newKeySet();
+
+	/** Resources that couldn't be deleted, with the last failure */
+	private final Map<String, String> leaked = new ConcurrentSkipListMap<>();
+
+	/**
+	 * @param executor runs the deletions, in parallel if it can
+	 * @param attempts the attempts for each deletion
+	 */
+	public CleanupQueue(Executor executor, int attempts) {
+		this.executor = executor;
+		this.attempts = attempts;
+	}
+
+	/**
+	 * Deletes a resource in the background.
+	 *
+	 * @param uri the resource URI
+	 * @param request builds the requests, with the authentication of the test
+	 */
+	public void delete(final String uri, final Supplier<RequestSpecification> request) {
+		final CompletableFuture<Void> deletion = CompletableFuture.runAsync(() -> deleteWithRetries(uri, request), executor);
+		pending.add(deletion);
+		deletion.whenComplete((result, e) -> {
+			if (e != null) {
+				leaked.put(uri, e.toString());
+			}
+			pending.remove(deletion);
+		});
+	}
+
+	private void deleteWithRetries(String uri, Supplier<RequestSpecification> request) {
+		String failure = null;
+		for (int attempt = 1; attempt <= attempts; attempt++) {
+			try {
+				final int status = request.get().delete(uri).getStatusCode();
+				if (status < HttpStatus.SC_MULTIPLE_CHOICES || status == HttpStatus.SC_NOT_FOUND || status == HttpStatus.SC_GONE) {
+					return;
+				}
+				failure = "HTTP " + status;
+				if (status < HttpStatus.SC_INTERNAL_SERVER_ERROR && status != HttpStatus.SC_CONFLICT && status != 429) {
+					break; // won't be any different the next time
+				}
+			} catch (Exception e) { // RestAssured also throws undeclared I/O exceptions
+				failure = e.toString();
+			}
+
+			if (attempt < attempts) {
+				try {
+					Thread.sleep(RETRY_DELAY_MILLIS << (attempt - 1));
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					break;
+				}
+			}
+		}
+
+		leaked.put(uri, failure);
+	}
+
+	/**
+	 * Waits for the deletions requested so far.
+	 *
+	 * @return the resources that couldn't be deleted, with the last failure
+	 */
+	public Map<String, String> drain() {
+		while (!pending.isEmpty()) {
+			CompletableFuture.allOf(pending.toArray(new CompletableFuture<?>[0])).exceptionally(e -> null).join();
+		}
+
+		return Collections.unmodifiableMap(leaked);
+	}
+}
@@ -0,0 +1,190 @@
+package org.w3.ldp.testsuite.http;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.StringUtils;
+
+import com.jayway.restassured.config.DecoderConfig;
+import com.jayway.restassured.config.DecoderConfig.ContentDecoder;
+
+/**
+ * The content codings the suite asks for (see {@code --compression}) and
+ * their decoding. Both transports advertise the decoders of the
+ * {@link DecoderConfig} in {@code Accept-Encoding} and decode the bodies
+ * as they're read, counting the bytes on the wire and decoded in the
+ * {@link WireTiming} of the exchange.
+ *
+ * <p>
+ * A decoded response loses its {@code Content-Encoding} and
+ * {@code Content-Length} headers, as with HttpClient's own decompression.
+ * </p>
+ */
+public class ContentEncodings {
+
+	public static final String GZIP = "gzip";
+	public static final String DEFLATE = "deflate";
+	public static final String NONE = "none";
+
+	private ContentEncodings() {
+	}
+
+	/**
+	 * @param compression content codings separated by commas, for instance
+	 *            {@code gzip,deflate}, or {@code none}
+	 * @return the decoder configuration asking for them
+	 * @throws IllegalArgumentException for codings the suite can't decode
+	 */
+	public static DecoderConfig parse(String compression) {
+		final List<ContentDecoder> decoders = new ArrayList<>();
+		for (String coding : StringUtils.split(compression.toLowerCase(Locale.ENGLISH), ", ")) {
+			if (GZIP.equals(coding)) {
+				decoders.add(ContentDecoder.GZIP);
+			} else if (DEFLATE.equals(coding)) {
+				decoders.add(ContentDecoder.DEFLATE);
+			} else if (!NONE.equals(coding) && !"identity".equals(coding)) {
+				throw new IllegalArgumentException("ERROR: unsupported compression, " + coding
+						+ " (use " + GZIP + ", " + DEFLATE + " or " + NONE + ")");
+			}
+		}
+
+		final DecoderConfig config = DecoderConfig.decoderConfig();
+		if (decoders.isEmpty()) {
+			return config.noContentDecoders();
+		}
+		return config.contentDecoders(decoders.get(0),
+				decoders.subList(1, decoders.size()).toArray(new ContentDecoder[0]));
+	}
+
+	/**
+	 * @param config the decoder configuration of the request
+	 * @return the {@code Accept-Encoding} header value, or null for none
+	 */
+	static String acceptEncoding(DecoderConfig config) {
+		final List<String> codings = new ArrayList<>();
+		for (ContentDecoder decoder : config.contentDecoders()) {
+			codings.add(decoder.name().toLowerCase(Locale.ENGLISH));
+		}
+		return codings.isEmpty() ? null : StringUtils.join(codings, ",");
+	}
+
+	/**
+	 * @param contentEncoding the {@code Content-Encoding} of a response
+	 * @return whether {@link #decode(InputStream, String, WireTiming)} decodes it
+	 */
+	static boolean isDecoded(String contentEncoding) {
+		return normalize(contentEncoding) != null;
+	}
+
+	/**
+	 * @param in the body as received
+	 * @param contentEncoding its {@code Content-Encoding}, see {@link #isDecoded(String)}
+	 * @param timing the exchange, or null
+	 * @return the decoded body
+	 * @throws IOException if the body can't be read
+	 */
+	static InputStream decode(InputStream in, String contentEncoding, WireTiming timing) throws IOException {
+		final String coding = normalize(contentEncoding);
+		if (timing != null) {
+			timing.setContentEncoding(coding);
+		}
+
+		final PushbackInputStream pushback = new PushbackInputStream(in, 2);
+		final byte[] header = new byte[2];
+		final int n = IOUtils.read(pushback, header);
+		pushback.unread(header, 0, n);
+
+		final InputStream decoded;
+		if (n == 0) {
+			decoded = pushback; // some servers encode empty bodies as nothing
+		} else if (GZIP.equals(coding)) {
+			decoded = new GZIPInputStream(pushback);
+		} else {
+			// RFC 7230 says zlib, some servers send raw deflate
+			final boolean zlib = n == 2 && (header[0] & 0x0F) == 8 && ((header[0] & 0xFF) << 8 | header[1] & 0xFF) % 31 == 0;
+			decoded = new InflaterInputStream(pushback, new Inflater(!zlib));
+		}
+		return new DecodedInputStream(decoded, timing);
+	}
+
+	private static String normalize(String contentEncoding) {
+		final String coding = StringUtils.lowerCase(StringUtils.trim(contentEncoding), Locale.ENGLISH);
+		if (GZIP.equals(coding) || "x-gzip".equals(coding)) {
+			return GZIP;
+		} else if (DEFLATE.equals(coding)) {
+			return DEFLATE;
+		}
+		return null;
+	}
+
+	/**
+	 * Closes the body as received when the decoded body ends: the decoders
+	 * stop at the end of the compressed data, before the end of the stream
+	 * that would give the connection back to the pool. Records the decoded
+	 * size of the body.
+	 */
+	private static class DecodedInputStream extends FilterInputStream {
+
+		private final WireTiming timing;
+		private long count;
+		private boolean ended;
+
+		DecodedInputStream(InputStream in, WireTiming timing) {
+			super(in);
+			this.timing = timing;
+		}
+
+		@Override
+		public int read() throws IOException {
+			int b = super.read();
+			if (b == -1) {
+				end();
+			} else {
+				count++;
+			}
+			return b;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			int n = super.read(b, off, len);
+			if (n == -1) {
+				end();
+			} else {
+				count += n;
+			}
+			return n;
+		}
+
+		@Override
+		public long skip(long n) throws IOException {
+			long skipped = super.skip(n);
+			count += skipped;
+			return skipped;
+		}
+
+		@Override
+		public void close() throws IOException {
+			end();
+		}
+
+		private void end() throws IOException {
+			if (!ended) {
+				ended = true;
+				if (timing != null) {
+					timing.addBodyBytes(count);
+				}
+				super.close();
+			}
+		}
+	}
+}
@@ -3,11 +3,18 @@ package org.w3.ldp.testsuite.http;
 
 public interface HttpHeaders {
 	public static final String ACCEPT = "Accept";
+	public static final String ACCEPT_ENCODING = "Accept-Encoding";
 	public static final String ACCEPT_PATCH = "Accept-Patch";
 	public static final String ACCEPT_POST = "Accept-Post";
 	public static final String ALLOW = "Allow";
+	public static final String AUTHORIZATION = "Authorization";
+	public static final String CONTENT_ENCODING = "Content-Encoding";
+	public static final String CONTENT_LENGTH = "Content-Length";
+	public static final String CONTENT_LOCATION = "Content-Location";
+	public static final String CONTENT_TYPE = "Content-Type";
 	public static final String ETAG = "ETAG";
 	public static final String IF_MATCH = "If-Match";
+	public static final String IF_NONE_MATCH = "If-None-Match";
 	public static final String LINK = "Link";
 	public static final String LINK_REL_TYPE = "type";
 	public static final String LINK_REL_DESCRIBEDBY = "describedby";
@@ -15,5 +22,6 @@ public interface HttpHeaders {
 	public static final String LOCATION = "Location";
 	public static final String PREFER = "Prefer";
 	public static final String PREFERNCE_APPLIED = "Preference-Applied";
+	public static final String RETRY_AFTER = "Retry-After";
 	public static final String SLUG = "Slug";
 }
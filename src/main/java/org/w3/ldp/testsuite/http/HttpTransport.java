@@ -0,0 +1,70 @@
+package org.w3.ldp.testsuite.http;
+
+import java.util.Locale;
+
+import com.jayway.restassured.filter.FilterContext;
+import com.jayway.restassured.response.Response;
+import com.jayway.restassured.specification.FilterableRequestSpecification;
+import com.jayway.restassured.specification.FilterableResponseSpecification;
+
+/**
+ * Sends the requests of the tests. The tests keep building their requests
+ * and checking the responses with RestAssured, the transport only decides
+ * how the request goes over the wire (see {@code --transport}).
+ *
+ * <p>
+ * Implementations must be thread safe and have a public constructor without
+ * arguments to be selected by class name.
+ * </p>
+ */
+public interface HttpTransport {
+
+	/** RestAssured and its Apache HttpClient, HTTP/1.1 only (default) */
+	String REST_ASSURED = "restassured";
+
+	/** {@link java.net.http.HttpClient}, HTTP/2 or HTTP/1.1 */
+	String JDK = "jdk";
+
+	/**
+	 * Sends a request.
+	 *
+	 * @param requestSpec the request
+	 * @param responseSpec the expected response
+	 * @param ctx the RestAssured filter chain, its next filter sends the
+	 *            request with RestAssured
+	 * @return the response
+	 */
+	Response send(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec,
+			FilterContext ctx);
+
+	/**
+	 * Releases the connections of the transport once the suite is done.
+	 */
+	default void close() {
+	}
+
+	/**
+	 * Creates a transport.
+	 *
+	 * @param name {@link #REST_ASSURED}, {@link #JDK} or the name of a class
+	 *            implementing this interface
+	 * @param httpVersion {@code 2} or {@code 1.1} for the {@link #JDK}
+	 *            transport, null for its default
+	 * @return the transport
+	 * @throws IllegalArgumentException if the transport can't be created
+	 */
+	static HttpTransport create(String name, String httpVersion) {
+		switch (name.toLowerCase(Locale.ENGLISH)) {
+		case REST_ASSURED:
+			return new RestAssuredTransport();
+		case JDK:
+			return new JavaHttpTransport(JavaHttpTransport.parseVersion(httpVersion));
+		default:
+			try {
+				return Class.forName(name).asSubclass(HttpTransport.class).getConstructor().newInstance();
+			} catch (ReflectiveOperationException | ClassCastException e) {
+				throw new IllegalArgumentException("ERROR: invalid transport, " + name + ", " + e, e);
+			}
+		}
+	}
+}
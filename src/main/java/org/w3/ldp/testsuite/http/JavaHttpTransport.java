@@ -0,0 +1,340 @@
+package org.w3.ldp.testsuite.http;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.cert.X509Certificate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLParameters;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.X509TrustManager;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.http.conn.ssl.SSLSocketFactory;
+
+import com.jayway.restassured.authentication.AuthenticationScheme;
+import com.jayway.restassured.authentication.NoAuthScheme;
+import com.jayway.restassured.authentication.PreemptiveBasicAuthScheme;
+import com.jayway.restassured.builder.ResponseBuilder;
+import com.jayway.restassured.config.RestAssuredConfig;
+import com.jayway.restassured.filter.FilterContext;
+import com.jayway.restassured.internal.RestAssuredResponseOptionsImpl;
+import com.jayway.restassured.response.Header;
+import com.jayway.restassured.response.Headers;
+import com.jayway.restassured.response.Response;
+import com.jayway.restassured.specification.FilterableRequestSpecification;
+import com.jayway.restassured.specification.FilterableResponseSpecification;
+
+/**
+ * Sends the requests with {@link HttpClient}. With HTTP/2, concurrent tests
+ * share multiplexed connections: h2 negotiated with ALPN over TLS, h2c
+ * through an HTTP/1.1 upgrade otherwise. Servers without HTTP/2 are spoken
+ * to in HTTP/1.1.
+ *
+ * <p>
+ * The request specifications use preemptive basic authentication or none,
+ * with String, byte array, file or stream bodies. Response bodies are decoded
+ * as with RestAssured (see {@link ContentEncodings}) and the requests
+ * retried the same way (see {@link RetryPolicy}). Cookies, form and
+ * multipart parameters aren't sent. The RestAssured request and response
+ * logging of {@code --httpLogging} doesn't apply either.
+ * </p>
+ */
+@SuppressWarnings("deprecation") // to recognize RestAssured.useRelaxedHTTPSValidation()
+public class JavaHttpTransport implements HttpTransport {
+
+	/** Headers HttpClient sets itself */
+	private static final Set<String> RESTRICTED_HEADERS = new HashSet<>(Arrays.asList(
+			"connection", "content-length", "expect", "host", "upgrade"));
+
+	private final HttpClient.Version version;
+
+	/** Clients by relaxed HTTPS validation and redirect policy */
+	private final ConcurrentMap<String, HttpClient> clients = new ConcurrentHashMap<>();
+
+	public JavaHttpTransport() {
+		this(HttpClient.Version.HTTP_2);
+	}
+
+	public JavaHttpTransport(HttpClient.Version version) {
+		this.version = version;
+	}
+
+	/**
+	 * @param httpVersion {@code 2}, {@code 1.1} or null for HTTP/2
+	 * @return the HttpClient version
+	 * @throws IllegalArgumentException for other versions
+	 */
+	public static HttpClient.Version parseVersion(String httpVersion) {
+		if (httpVersion == null || "2".equals(httpVersion.trim())) {
+			return HttpClient.Version.HTTP_2;
+		} else if ("1.1".equals(httpVersion.trim())) {
+			return HttpClient.Version.HTTP_1_1;
+		}
+		throw new IllegalArgumentException("ERROR: invalid HTTP version, " + httpVersion);
+	}
+
+	@Override
+	public Response send(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec,
+			FilterContext ctx) {
+		final HttpRequest request = toHttpRequest(requestSpec);
+		final HttpClient client = getClient(requestSpec.getConfig());
+		final WireTiming timing = WireTimingRecorder.current();
+		final RetryPolicy policy = RetryFilter.current();
+		final boolean retryable = policy.isRetryable(request.method(),
+				request.headers().firstValue(HttpHeaders.IF_MATCH).isPresent(),
+				!(requestSpec.getBody() instanceof InputStream));
+		try {
+			for (int retry = 1;; retry++) {
+				String cause;
+				long delay;
+				try {
+					final Response response = exchange(client, request, requestSpec, timing);
+					if (!retryable || retry > policy.getRetries() || !policy.isTransient(response.getStatusCode())) {
+						return response;
+					}
+					delay = policy.getDelayMillis(retry, response.getHeader(HttpHeaders.RETRY_AFTER));
+					if (delay < 0) {
+						return response;
+					}
+					if (StreamingBodyFilter.isStreaming(requestSpec)) {
+						response.asInputStream().close();
+					}
+					cause = "HTTP " + response.getStatusCode();
+				} catch (IOException e) {
+					if (!retryable || retry > policy.getRetries() || !policy.isTransient(e)) {
+						throw e;
+					}
+					delay = policy.getDelayMillis(retry, null);
+					cause = e.toString();
+				}
+
+				if (timing != null) {
+					timing.addRetry(cause);
+				}
+				RetryPolicy.sleep(delay);
+				RateLimitFilter.awaitRetry();
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new UncheckedIOException(new InterruptedIOException("Interrupted during " + request));
+		}
+	}
+
+	private Response exchange(HttpClient client, HttpRequest request, FilterableRequestSpecification requestSpec,
+			WireTiming timing) throws IOException, InterruptedException {
+		final long start = System.nanoTime();
+		if (StreamingBodyFilter.isStreaming(requestSpec)) {
+			final HttpResponse<InputStream> response = client.send(request, info -> {
+				final long head = System.nanoTime();
+				final HttpResponse.BodySubscriber<InputStream> body = HttpResponse.BodyHandlers.ofInputStream().apply(info);
+				if (timing == null) {
+					return body;
+				}
+				timing.addTimeToFirstByte(head - start);
+				return HttpResponse.BodySubscribers.mapping(body, in -> new TimedInputStream(in, timing, head));
+			});
+			final String encoding = getDecodedEncoding(response);
+			final InputStream body = encoding != null
+					? ContentEncodings.decode(response.body(), encoding, timing)
+					: response.body();
+			final Response streaming = toResponseBuilder(response, encoding != null).setBody(body).build();
+			if (streaming instanceof RestAssuredResponseOptionsImpl) {
+				// asInputStream() needs the connection configuration
+				((RestAssuredResponseOptionsImpl<?>) streaming).setConfig(requestSpec.getConfig());
+			}
+			return streaming;
+		}
+
+		final HttpResponse<byte[]> response = client.send(request, info -> {
+			final long head = System.nanoTime();
+			final HttpResponse.BodySubscriber<byte[]> body = HttpResponse.BodyHandlers.ofByteArray().apply(info);
+			if (timing == null) {
+				return body;
+			}
+			timing.addTimeToFirstByte(head - start);
+			return HttpResponse.BodySubscribers.mapping(body, bytes -> {
+				timing.addBodyRead(System.nanoTime() - head);
+				timing.addWireBytes(bytes.length);
+				return bytes;
+			});
+		});
+		final String encoding = getDecodedEncoding(response);
+		final byte[] body = encoding != null
+				? IOUtils.toByteArray(ContentEncodings.decode(new ByteArrayInputStream(response.body()), encoding, timing))
+				: response.body();
+		return toResponseBuilder(response, encoding != null).setBody(body).build();
+	}
+
+	private HttpClient getClient(RestAssuredConfig config) {
+		final boolean relaxed = config.getSSLConfig().getX509HostnameVerifier() == SSLSocketFactory.ALLOW_ALL_HOSTNAME_VERIFIER;
+		final boolean followRedirects = config.getRedirectConfig().followsRedirects();
+		return clients.computeIfAbsent(relaxed + " " + followRedirects, key -> {
+			HttpClient.Builder builder = HttpClient.newBuilder()
+					.version(version)
+					.followRedirects(followRedirects ? HttpClient.Redirect.NORMAL : HttpClient.Redirect.NEVER);
+			if (relaxed) {
+				// self-signed certificates of development servers
+				builder.sslContext(trustAllContext());
+				SSLParameters parameters = new SSLParameters();
+				parameters.setEndpointIdentificationAlgorithm(null);
+				builder.sslParameters(parameters);
+			}
+			return builder.build();
+		});
+	}
+
+	private static SSLContext trustAllContext() {
+		TrustManager trustAll = new X509TrustManager() {
+			@Override
+			public void checkClientTrusted(X509Certificate[] chain, String authType) {
+			}
+
+			@Override
+			public void checkServerTrusted(X509Certificate[] chain, String authType) {
+			}
+
+			@Override
+			public X509Certificate[] getAcceptedIssuers() {
+				return new X509Certificate[0];
+			}
+		};
+		try {
+			SSLContext context = SSLContext.getInstance("TLS");
+			context.init(null, new TrustManager[] { trustAll }, null);
+			return context;
+		} catch (GeneralSecurityException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private HttpRequest toHttpRequest(FilterableRequestSpecification requestSpec) {
+		final HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(requestSpec.getURI()));
+
+		boolean hasAccept = false;
+		boolean hasAcceptEncoding = false;
+		for (Header header : requestSpec.getHeaders()) {
+			if (RESTRICTED_HEADERS.contains(header.getName().toLowerCase(Locale.ENGLISH))
+					|| HttpHeaders.CONTENT_TYPE.equalsIgnoreCase(header.getName())) {
+				continue;
+			}
+			hasAccept |= HttpHeaders.ACCEPT.equalsIgnoreCase(header.getName());
+			hasAcceptEncoding |= HttpHeaders.ACCEPT_ENCODING.equalsIgnoreCase(header.getName());
+			builder.header(header.getName(), header.getValue());
+		}
+		if (!hasAccept) {
+			builder.header(HttpHeaders.ACCEPT, "*/*"); // as RestAssured does
+		}
+		final String acceptEncoding = ContentEncodings.acceptEncoding(requestSpec.getConfig().getDecoderConfig());
+		if (!hasAcceptEncoding && acceptEncoding != null) {
+			builder.header(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+		}
+
+		final String contentType = requestSpec.getRequestContentType();
+		if (StringUtils.isNotBlank(contentType)) {
+			builder.header(HttpHeaders.CONTENT_TYPE, contentType);
+		}
+
+		final AuthenticationScheme auth = requestSpec.getAuthenticationScheme();
+		if (auth instanceof PreemptiveBasicAuthScheme) {
+			PreemptiveBasicAuthScheme basic = (PreemptiveBasicAuthScheme) auth;
+			String credentials = basic.getUserName() + ":" + basic.getPassword();
+			builder.header(HttpHeaders.AUTHORIZATION,
+					"Basic " + Base64.getEncoder().encodeToString(credentials.getBytes(StandardCharsets.UTF_8)));
+		} else if (auth != null && !(auth instanceof NoAuthScheme)) {
+			throw new IllegalArgumentException("Unsupported authentication with the " + JDK + " transport, " + auth);
+		}
+
+		builder.method(requestSpec.getMethod().name(), toBodyPublisher(requestSpec.getBody(), contentType));
+		return builder.build();
+	}
+
+	private static HttpRequest.BodyPublisher toBodyPublisher(Object body, String contentType) {
+		if (body == null) {
+			return HttpRequest.BodyPublishers.noBody();
+		} else if (body instanceof byte[]) {
+			return HttpRequest.BodyPublishers.ofByteArray((byte[]) body);
+		} else if (body instanceof String) {
+			return HttpRequest.BodyPublishers.ofString((String) body, getCharset(contentType));
+		} else if (body instanceof File) {
+			try {
+				return HttpRequest.BodyPublishers.ofFile(((File) body).toPath());
+			} catch (FileNotFoundException e) {
+				throw new UncheckedIOException(e);
+			}
+		} else if (body instanceof InputStream) {
+			final InputStream stream = (InputStream) body;
+			return HttpRequest.BodyPublishers.ofInputStream(() -> stream);
+		}
+		throw new IllegalArgumentException("Unsupported request body with the " + JDK + " transport, " + body.getClass());
+	}
+
+	private static Charset getCharset(String contentType) {
+		final String charset = StringUtils.substringAfter(StringUtils.lowerCase(contentType), "charset=");
+		if (StringUtils.isNotBlank(charset)) {
+			try {
+				return Charset.forName(StringUtils.strip(charset.split(";")[0].trim(), "\""));
+			} catch (IllegalArgumentException e) {
+				// use the default
+			}
+		}
+		return StandardCharsets.UTF_8;
+	}
+
+	/*
+	 * The content coding of the body if it's decoded, null otherwise.
+	 */
+	private static String getDecodedEncoding(HttpResponse<?> response) {
+		final String encoding = response.headers().firstValue(HttpHeaders.CONTENT_ENCODING).orElse(null);
+		return ContentEncodings.isDecoded(encoding) ? encoding : null;
+	}
+
+	private static ResponseBuilder toResponseBuilder(HttpResponse<?> response, boolean decoded) {
+		final List<Header> headers = new ArrayList<>();
+		for (Map.Entry<String, List<String>> header : response.headers().map().entrySet()) {
+			if (header.getKey().startsWith(":")) {
+				continue; // HTTP/2 pseudo-headers
+			}
+			if (decoded && (HttpHeaders.CONTENT_ENCODING.equalsIgnoreCase(header.getKey())
+					|| HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(header.getKey()))) {
+				continue; // they describe the encoded body
+			}
+			for (String value : header.getValue()) {
+				headers.add(new Header(header.getKey(), value));
+			}
+		}
+
+		final String protocol = response.version() == HttpClient.Version.HTTP_2 ? "HTTP/2" : "HTTP/1.1";
+		final ResponseBuilder builder = new ResponseBuilder()
+				.setStatusCode(response.statusCode())
+				.setStatusLine(protocol + " " + response.statusCode())
+				.setHeaders(new Headers(headers));
+		response.headers().firstValue(HttpHeaders.CONTENT_TYPE).ifPresent(builder::setContentType);
+		return builder;
+	}
+}
@@ -0,0 +1,89 @@
+package org.w3.ldp.testsuite.http;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.sparql.graph.GraphReadOnly;
+
+/**
+ * Parsed representations of the resources by URI, Accept and Prefer header,
+ * with their entity tags (see {@code --cache}). The tests still revalidate
+ * each representation with {@code If-None-Match}, a {@code 304 Not
+ * Modified} response reuses the parsed model rather than fetching and
+ * parsing it again.
+ *
+ * <p>
+ * The cached models are read-only since tests running concurrently share
+ * them. Requests with unsafe methods invalidate the entries of their URI,
+ * see {@link CacheInvalidationFilter}.
+ * </p>
+ */
+public class ModelCache {
+
+	public static class Entry {
+		private final String entityTag;
+		private final Model model;
+
+		Entry(String entityTag, Model model) {
+			this.entityTag = entityTag;
+			this.model = model;
+		}
+
+		public String getEntityTag() {
+			return entityTag;
+		}
+
+		/**
+		 * @return the read-only model
+		 */
+		public Model getModel() {
+			return model;
+		}
+	}
+
+	/** Representations by URI, then by Accept and Prefer headers */
+	private final ConcurrentMap<String, Map<String, Entry>> entries = new ConcurrentHashMap<>();
+
+	/**
+	 * @param uri the resource URI
+	 * @param accept the Accept request header
+	 * @param prefer the Prefer request header, or null
+	 * @return the cached representation, or null
+	 */
+	public Entry get(String uri, String accept, String prefer) {
+		Map<String, Entry> variants = entries.get(uri);
+		return variants != null ? variants.get(variant(accept, prefer)) : null;
+	}
+
+	/**
+	 * Caches a representation.
+	 *
+	 * @param uri the resource URI
+	 * @param accept the Accept request header
+	 * @param prefer the Prefer request header, or null
+	 * @param entityTag the ETag response header
+	 * @param model the parsed representation, not modified afterwards
+	 * @return the cached entry, its model is a read-only view of the given one
+	 */
+	public Entry put(String uri, String accept, String prefer, String entityTag, Model model) {
+		Entry entry = new Entry(entityTag, ModelFactory.createModelForGraph(new GraphReadOnly(model.getGraph())));
+		entries.computeIfAbsent(uri, key -> new ConcurrentHashMap<>()).put(variant(accept, prefer), entry);
+		return entry;
+	}
+
+	/**
+	 * Forgets the representations of a resource.
+	 *
+	 * @param uri the resource URI
+	 */
+	public void invalidate(String uri) {
+		entries.remove(uri);
+	}
+
+	private static String variant(String accept, String prefer) {
+		return accept + "\n" + (prefer != null ? prefer : "");
+	}
+}
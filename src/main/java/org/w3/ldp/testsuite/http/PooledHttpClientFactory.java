@@ -0,0 +1,410 @@
+package org.w3.ldp.testsuite.http;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.http.Header;
+import org.apache.http.HttpClientConnection;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.HttpException;
+import org.apache.http.HttpHost;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.HttpRequestRetryHandler;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.client.params.ClientPNames;
+import org.apache.http.conn.ClientConnectionOperator;
+import org.apache.http.conn.ClientConnectionRequest;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.conn.ManagedClientConnection;
+import org.apache.http.conn.OperatedClientConnection;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.conn.scheme.SchemeRegistry;
+import org.apache.http.entity.HttpEntityWrapper;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.conn.DefaultClientConnectionOperator;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.http.params.HttpParams;
+import org.apache.http.protocol.HttpContext;
+import org.apache.http.protocol.HttpRequestExecutor;
+import org.apache.http.util.EntityUtils;
+
+import com.jayway.restassured.config.HttpClientConfig;
+
+/**
+ * Hands RestAssured clients sharing one pool of keep-alive connections, so
+ * the tests don't open a TCP connection and do a TLS handshake for each
+ * request.
+ *
+ * <p>
+ * RestAssured creates a client per request unless told to reuse one, which
+ * isn't safe across threads. The clients are cheap, the pooled connections
+ * are what's shared.
+ * </p>
+ *
+ * <p>
+ * The clients fill in the {@link WireTiming} of the exchange in progress:
+ * waiting for a pooled connection, connecting, writing the request, waiting
+ * for the response head and reading the body. They also decode the
+ * compressed bodies (see {@link ContentEncodings}) and retry the requests
+ * that failed transiently (see {@link RetryPolicy}).
+ * </p>
+ */
+@SuppressWarnings("deprecation") // RestAssured 2 needs the HttpClient 4.2 API
+public class PooledHttpClientFactory implements HttpClientConfig.HttpClientFactory {
+
+	public static final int DEFAULT_MAX_CONNECTIONS_PER_ROUTE = 20;
+	public static final long DEFAULT_IDLE_TIMEOUT_SECONDS = 30;
+	public static final long DEFAULT_KEEP_ALIVE_SECONDS = 30;
+
+	/** Time to wait for a free pooled connection before failing the request */
+	private static final long CONNECTION_REQUEST_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(2);
+
+	/** Response of the last request sent on each thread, see {@link #releaseLastResponse(boolean)} */
+	private static final ThreadLocal<CloseableHttpResponse> lastResponse = new ThreadLocal<>();
+
+	private final PoolingClientConnectionManager connectionManager;
+	private final ConnectionKeepAliveStrategy keepAliveStrategy;
+	private final ScheduledExecutorService evictor;
+
+	/**
+	 * @param maxConnectionsPerRoute open connections per server
+	 * @param idleTimeoutSeconds time before closing a connection nobody uses
+	 * @param keepAliveSeconds time to keep a connection when the server
+	 *            doesn't say how long it keeps it
+	 */
+	public PooledHttpClientFactory(int maxConnectionsPerRoute, final long idleTimeoutSeconds, final long keepAliveSeconds) {
+		connectionManager = new TimedConnectionManager();
+		connectionManager.setDefaultMaxPerRoute(maxConnectionsPerRoute);
+		connectionManager.setMaxTotal(Integer.MAX_VALUE); // bounded by the routes
+
+		keepAliveStrategy = new DefaultConnectionKeepAliveStrategy() {
+			@Override
+			public long getKeepAliveDuration(HttpResponse response, HttpContext context) {
+				long duration = super.getKeepAliveDuration(response, context);
+				return duration > 0 ? duration : TimeUnit.SECONDS.toMillis(keepAliveSeconds);
+			}
+		};
+
+		evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "ldp-testsuite-connection-evictor");
+			thread.setDaemon(true);
+			return thread;
+		});
+		long period = Math.max(1, idleTimeoutSeconds / 2);
+		evictor.scheduleWithFixedDelay(() -> {
+			connectionManager.closeExpiredConnections();
+			connectionManager.closeIdleConnections(idleTimeoutSeconds, TimeUnit.SECONDS);
+		}, period, period, TimeUnit.SECONDS);
+	}
+
+	@Override
+	public HttpClient createHttpClient() {
+		DefaultHttpClient client = new PooledHttpClient(connectionManager);
+		client.setKeepAliveStrategy(keepAliveStrategy);
+		client.getParams().setLongParameter(ClientPNames.CONN_MANAGER_TIMEOUT, CONNECTION_REQUEST_TIMEOUT_MILLIS);
+		return client;
+	}
+
+	/**
+	 * Forgets the response of the last request sent on this thread, after
+	 * reading what's left of its body. The connection only goes back to the
+	 * pool at the end of the body, which RestAssured doesn't read when it's
+	 * empty or when the response fails the expectations of the test.
+	 *
+	 * @param consume whether to read the rest of the body, false when the
+	 *            caller reads it as a stream
+	 */
+	public static void releaseLastResponse(boolean consume) {
+		final CloseableHttpResponse response = lastResponse.get();
+		lastResponse.remove();
+		if (consume && response != null) {
+			EntityUtils.consumeQuietly(response.getEntity());
+		}
+	}
+
+	/**
+	 * Closes the pooled connections. Clients handed out can't be used
+	 * afterwards.
+	 */
+	public void shutdown() {
+		evictor.shutdownNow();
+		connectionManager.shutdown();
+	}
+
+	private static class PooledHttpClient extends DefaultHttpClient {
+
+		PooledHttpClient(PoolingClientConnectionManager connectionManager) {
+			super(connectionManager);
+		}
+
+		@Override
+		protected HttpRequestExecutor createRequestExecutor() {
+			return new TimedRequestExecutor();
+		}
+
+		/*
+		 * HttpClient resends a request right away when the connection
+		 * fails before the response, recorded with the other retries.
+		 */
+		@Override
+		protected HttpRequestRetryHandler createHttpRequestRetryHandler() {
+			final HttpRequestRetryHandler handler = super.createHttpRequestRetryHandler();
+			return (exception, executionCount, context) -> {
+				final boolean retry = handler.retryRequest(exception, executionCount, context);
+				final WireTiming timing = WireTimingRecorder.current();
+				if (retry && timing != null) {
+					timing.addRetry(exception.toString());
+				}
+				return retry;
+			};
+		}
+
+		/*
+		 * The other execute methods go through these two. The retries follow
+		 * the policy of the request in progress (see RetryFilter).
+		 */
+
+		@Override
+		public CloseableHttpResponse execute(HttpHost target, HttpRequest request, HttpContext context)
+				throws IOException {
+			return remember(execute(request, () -> super.execute(target, request, context)));
+		}
+
+		@Override
+		public CloseableHttpResponse execute(HttpUriRequest request, HttpContext context) throws IOException {
+			return remember(execute(request, () -> super.execute(request, context)));
+		}
+
+		private static CloseableHttpResponse remember(CloseableHttpResponse response) {
+			lastResponse.set(response);
+			return response;
+		}
+
+		private CloseableHttpResponse execute(HttpRequest request, Exchange exchange) throws IOException {
+			final RetryPolicy policy = RetryFilter.current();
+			if (!policy.isRetryable(request.getRequestLine().getMethod(),
+					request.containsHeader(HttpHeaders.IF_MATCH), isRepeatable(request))) {
+				return exchange.execute();
+			}
+
+			final WireTiming timing = WireTimingRecorder.current();
+			for (int retry = 1;; retry++) {
+				String cause;
+				long delay;
+				try {
+					final CloseableHttpResponse response = exchange.execute();
+					final int status = response.getStatusLine().getStatusCode();
+					if (retry > policy.getRetries() || !policy.isTransient(status)) {
+						return response;
+					}
+					final Header retryAfter = response.getFirstHeader(HttpHeaders.RETRY_AFTER);
+					delay = policy.getDelayMillis(retry, retryAfter != null ? retryAfter.getValue() : null);
+					if (delay < 0) {
+						return response;
+					}
+					EntityUtils.consumeQuietly(response.getEntity()); // gives the connection back
+					cause = "HTTP " + status;
+				} catch (IOException e) {
+					if (retry > policy.getRetries() || !policy.isTransient(e)) {
+						throw e;
+					}
+					delay = policy.getDelayMillis(retry, null);
+					cause = e.toString();
+				}
+
+				if (timing != null) {
+					timing.addRetry(cause);
+				}
+				RetryPolicy.sleep(delay);
+				RateLimitFilter.awaitRetry();
+			}
+		}
+
+		private interface Exchange {
+			CloseableHttpResponse execute() throws IOException;
+		}
+
+		private static boolean isRepeatable(HttpRequest request) {
+			if (request instanceof HttpEntityEnclosingRequest) {
+				final HttpEntity entity = ((HttpEntityEnclosingRequest) request).getEntity();
+				return entity == null || entity.isRepeatable();
+			}
+			return true;
+		}
+	}
+
+	private static class TimedConnectionManager extends PoolingClientConnectionManager {
+
+		@Override
+		protected ClientConnectionOperator createConnectionOperator(SchemeRegistry schemeRegistry) {
+			return new DefaultClientConnectionOperator(schemeRegistry) {
+				@Override
+				public void openConnection(OperatedClientConnection conn, HttpHost target, InetAddress local,
+						HttpContext context, HttpParams params) throws IOException {
+					final WireTiming timing = WireTimingRecorder.current();
+					final long start = System.nanoTime();
+					try {
+						super.openConnection(conn, target, local, context, params);
+					} finally {
+						if (timing != null) {
+							timing.addConnect(System.nanoTime() - start);
+						}
+					}
+				}
+			};
+		}
+
+		@Override
+		public ClientConnectionRequest requestConnection(HttpRoute route, Object state) {
+			final ClientConnectionRequest request = super.requestConnection(route, state);
+			return new ClientConnectionRequest() {
+				@Override
+				public ManagedClientConnection getConnection(long timeout, TimeUnit unit)
+						throws InterruptedException, ConnectionPoolTimeoutException {
+					final WireTiming timing = WireTimingRecorder.current();
+					final long start = System.nanoTime();
+					try {
+						return request.getConnection(timeout, unit);
+					} finally {
+						if (timing != null) {
+							timing.addConnectionRequest(System.nanoTime() - start);
+						}
+					}
+				}
+
+				@Override
+				public void abortRequest() {
+					request.abortRequest();
+				}
+			};
+		}
+	}
+
+	private static class TimedRequestExecutor extends HttpRequestExecutor {
+
+		@Override
+		protected HttpResponse doSendRequest(HttpRequest request, HttpClientConnection conn, HttpContext context)
+				throws IOException, HttpException {
+			final WireTiming timing = WireTimingRecorder.current();
+			final long start = System.nanoTime();
+			try {
+				return super.doSendRequest(request, conn, context);
+			} finally {
+				if (timing != null) {
+					timing.addRequestWrite(System.nanoTime() - start);
+				}
+			}
+		}
+
+		@Override
+		protected HttpResponse doReceiveResponse(HttpRequest request, HttpClientConnection conn, HttpContext context)
+				throws HttpException, IOException {
+			final WireTiming timing = WireTimingRecorder.current();
+			final long start = System.nanoTime();
+			final HttpResponse response = super.doReceiveResponse(request, conn, context);
+			final long head = System.nanoTime();
+			if (timing != null) {
+				timing.addTimeToFirstByte(head - start);
+			}
+
+			HttpEntity entity = response.getEntity();
+			if (entity != null) {
+				if (timing != null) {
+					entity = new TimedEntity(entity, timing, head);
+				}
+				final Header encoding = response.getFirstHeader(HttpHeaders.CONTENT_ENCODING);
+				if (encoding != null && ContentEncodings.isDecoded(encoding.getValue())) {
+					// decoded here rather than by RestAssured, to count the bytes
+					entity = new DecodedEntity(entity, encoding.getValue(), timing);
+					response.removeHeaders(HttpHeaders.CONTENT_ENCODING);
+					response.removeHeaders(HttpHeaders.CONTENT_LENGTH);
+				}
+				response.setEntity(entity);
+			}
+			return response;
+		}
+	}
+
+	/*
+	 * The wrappers hand out the same stream each time, so reading the rest
+	 * of a body doesn't record or decode it twice.
+	 */
+
+	private static class TimedEntity extends HttpEntityWrapper {
+
+		private final WireTiming timing;
+		private final long head;
+		private InputStream content;
+
+		TimedEntity(HttpEntity entity, WireTiming timing, long head) {
+			super(entity);
+			this.timing = timing;
+			this.head = head;
+		}
+
+		@Override
+		public void writeTo(OutputStream out) throws IOException {
+			try (InputStream in = getContent()) {
+				IOUtils.copy(in, out);
+			}
+		}
+
+		@Override
+		public synchronized InputStream getContent() throws IOException {
+			if (content == null) {
+				content = new TimedInputStream(super.getContent(), timing, head);
+			}
+			return content;
+		}
+	}
+
+	private static class DecodedEntity extends HttpEntityWrapper {
+
+		private final String contentEncoding;
+		private final WireTiming timing;
+		private InputStream content;
+
+		DecodedEntity(HttpEntity entity, String contentEncoding, WireTiming timing) {
+			super(entity);
+			this.contentEncoding = contentEncoding;
+			this.timing = timing;
+		}
+
+		@Override
+		public long getContentLength() {
+			return -1;
+		}
+
+		@Override
+		public Header getContentEncoding() {
+			return null;
+		}
+
+		@Override
+		public void writeTo(OutputStream out) throws IOException {
+			try (InputStream in = getContent()) {
+				IOUtils.copy(in, out);
+			}
+		}
+
+		@Override
+		public synchronized InputStream getContent() throws IOException {
+			if (content == null) {
+				content = ContentEncodings.decode(super.getContent(), contentEncoding, timing);
+			}
+			return content;
+		}
+	}
+}
@@ -0,0 +1,178 @@
+package org.w3.ldp.testsuite.http;
+
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import com.jayway.restassured.filter.Filter;
+import com.jayway.restassured.filter.FilterContext;
+import com.jayway.restassured.response.Response;
+import com.jayway.restassured.specification.FilterableRequestSpecification;
+import com.jayway.restassured.specification.FilterableResponseSpecification;
+
+/**
+ * Caps the load the suite puts on each host, for runs against servers in
+ * production (see {@code --max-rps} and {@code --max-in-flight}). The
+ * limits hold across all the threads sending requests: the tests, their
+ * {@code async()} requests and the background deletes.
+ *
+ * <p>
+ * The request rate is a token bucket holding up to one second of requests,
+ * and a retry (see {@link RetryPolicy}) takes a token like any request. A
+ * request stays in flight until its body has been read by
+ * {@link ReleaseConnectionFilter}, so this filter goes right after the
+ * {@link WireTimingFilter}, which records the time waited in the
+ * {@link WireTiming} of the exchange.
+ * </p>
+ */
+public class RateLimitFilter implements Filter {
+
+	/** Host of the request in progress on each thread, for its retries */
+	private static final ThreadLocal<Host> current = new ThreadLocal<>();
+
+	private final double maxRequestsPerSecond;
+	private final int maxInFlight;
+	private final ConcurrentMap<String, Host> hosts = new ConcurrentHashMap<>();
+
+	/**
+	 * @param maxRequestsPerSecond requests per second to each host, or 0 for
+	 *            no limit
+	 * @param maxInFlight requests in progress at once to each host, or 0 for
+	 *            no limit
+	 */
+	public RateLimitFilter(double maxRequestsPerSecond, int maxInFlight) {
+		this.maxRequestsPerSecond = maxRequestsPerSecond;
+		this.maxInFlight = maxInFlight;
+	}
+
+	@Override
+	public Response filter(FilterableRequestSpecification requestSpec,
+			FilterableResponseSpecification responseSpec, FilterContext ctx) {
+		final Host host = hosts.computeIfAbsent(getHost(requestSpec.getURI()), key -> new Host());
+		final WireTiming timing = WireTimingRecorder.current();
+		final long start = System.nanoTime();
+		try {
+			host.acquire();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new UncheckedIOException(new InterruptedIOException("Interrupted waiting to send "
+					+ requestSpec.getMethod() + " " + requestSpec.getURI()));
+		} finally {
+			if (timing != null) {
+				timing.addRateLimitWait(System.nanoTime() - start);
+			}
+		}
+
+		current.set(host);
+		try {
+			return ctx.next(requestSpec, responseSpec);
+		} finally {
+			current.remove();
+			host.release();
+		}
+	}
+
+	/**
+	 * Waits for a token before sending the request in progress on this
+	 * thread again.
+	 *
+	 * @throws InterruptedIOException if the thread is interrupted
+	 */
+	static void awaitRetry() throws InterruptedIOException {
+		final Host host = current.get();
+		if (host == null) {
+			return;
+		}
+
+		final WireTiming timing = WireTimingRecorder.current();
+		final long start = System.nanoTime();
+		try {
+			host.awaitToken();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted before retrying");
+		} finally {
+			if (timing != null) {
+				timing.addRateLimitWait(System.nanoTime() - start);
+			}
+		}
+	}
+
+	/**
+	 * Scheme, host and port, the whole URI if it can't be parsed. An implicit
+	 * port is the default one of the scheme, so {@code https://h/} and
+	 * {@code https://h:443/} are the same server.
+	 *
+	 * @param uri the request URI
+	 * @return the key of the server
+	 */
+	static String getHost(String uri) {
+		try {
+			final URI parsed = new URI(uri);
+			if (parsed.getHost() != null) {
+				final String scheme = parsed.getScheme().toLowerCase(Locale.ENGLISH);
+				int port = parsed.getPort();
+				if (port == -1) {
+					port = "https".equals(scheme) ? 443 : "http".equals(scheme) ? 80 : -1;
+				}
+				return scheme + "://" + parsed.getHost().toLowerCase(Locale.ENGLISH) + ":" + port;
+			}
+		} catch (Exception e) {
+			// keyed by the URI itself
+		}
+		return uri;
+	}
+
+	private class Host {
+
+		private final Semaphore inFlight = maxInFlight > 0 ? new Semaphore(maxInFlight, true) : null;
+
+		/*
+		 * Negative while requests are waiting: each takes its token ahead of
+		 * time and sleeps until the bucket would have refilled it.
+		 */
+		private double tokens = 1;
+		private long refilledAt = System.nanoTime();
+
+		void acquire() throws InterruptedException {
+			if (inFlight != null) {
+				inFlight.acquire();
+			}
+			try {
+				awaitToken();
+			} catch (InterruptedException e) {
+				release();
+				throw e;
+			}
+		}
+
+		void release() {
+			if (inFlight != null) {
+				inFlight.release();
+			}
+		}
+
+		void awaitToken() throws InterruptedException {
+			if (maxRequestsPerSecond > 0) {
+				TimeUnit.NANOSECONDS.sleep(takeToken());
+			}
+		}
+
+		/*
+		 * Returns the nanoseconds to wait for the token.
+		 */
+		private synchronized long takeToken() {
+			final long now = System.nanoTime();
+			final double perNano = maxRequestsPerSecond / TimeUnit.SECONDS.toNanos(1);
+			tokens = Math.min(Math.max(1, maxRequestsPerSecond), tokens + (now - refilledAt) * perNano);
+			refilledAt = now;
+			tokens--;
+			return tokens >= 0 ? 0 : (long) Math.ceil(-tokens / perNano);
+		}
+	}
+}
@@ -0,0 +1,36 @@
+package org.w3.ldp.testsuite.http;
+
+import com.jayway.restassured.filter.Filter;
+import com.jayway.restassured.filter.FilterContext;
+import com.jayway.restassured.response.Response;
+import com.jayway.restassured.specification.FilterableRequestSpecification;
+import com.jayway.restassured.specification.FilterableResponseSpecification;
+
+/**
+ * Reads each response body as soon as it arrives. RestAssured leaves the
+ * body unread when a test doesn't look at it, and its connection would
+ * never go back to the pool (see {@link PooledHttpClientFactory}).
+ * Requests marked with {@link StreamingBodyFilter} are left alone, the
+ * test closes their body.
+ */
+public class ReleaseConnectionFilter implements Filter {
+
+	@Override
+	public Response filter(FilterableRequestSpecification requestSpec,
+			FilterableResponseSpecification responseSpec, FilterContext ctx) {
+		final boolean streaming = StreamingBodyFilter.isStreaming(requestSpec);
+		final Response response;
+		try {
+			response = ctx.next(requestSpec, responseSpec);
+		} catch (RuntimeException | Error e) {
+			PooledHttpClientFactory.releaseLastResponse(true); // the test won't read it
+			throw e;
+		}
+
+		if (!streaming) {
+			response.asByteArray(); // kept by the response for later reads
+		}
+		PooledHttpClientFactory.releaseLastResponse(!streaming);
+		return response;
+	}
+}
@@ -0,0 +1,18 @@
+package org.w3.ldp.testsuite.http;
+
+import com.jayway.restassured.filter.FilterContext;
+import com.jayway.restassured.response.Response;
+import com.jayway.restassured.specification.FilterableRequestSpecification;
+import com.jayway.restassured.specification.FilterableResponseSpecification;
+
+/**
+ * Leaves the request to RestAssured, the default transport.
+ */
+public class RestAssuredTransport implements HttpTransport {
+
+	@Override
+	public Response send(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec,
+			FilterContext ctx) {
+		return ctx.next(requestSpec, responseSpec);
+	}
+}
@@ -0,0 +1,43 @@
+package org.w3.ldp.testsuite.http;
+
+import com.jayway.restassured.filter.Filter;
+import com.jayway.restassured.filter.FilterContext;
+import com.jayway.restassured.response.Response;
+import com.jayway.restassured.specification.FilterableRequestSpecification;
+import com.jayway.restassured.specification.FilterableResponseSpecification;
+
+/**
+ * Applies a {@link RetryPolicy} to the requests. A RestAssured filter can't
+ * send its request twice, so the retries are made below the filters, by
+ * the pooled clients (see {@link PooledHttpClientFactory}) and the
+ * transports, with the policy of the request in progress on their thread.
+ */
+public class RetryFilter implements Filter {
+
+	private static final ThreadLocal<RetryPolicy> current = new ThreadLocal<>();
+
+	private final RetryPolicy policy;
+
+	public RetryFilter(RetryPolicy policy) {
+		this.policy = policy;
+	}
+
+	/**
+	 * @return the retry policy of the request in progress on this thread
+	 */
+	static RetryPolicy current() {
+		final RetryPolicy policy = current.get();
+		return policy != null ? policy : RetryPolicy.NONE;
+	}
+
+	@Override
+	public Response filter(FilterableRequestSpecification requestSpec,
+			FilterableResponseSpecification responseSpec, FilterContext ctx) {
+		current.set(policy);
+		try {
+			return ctx.next(requestSpec, responseSpec);
+		} finally {
+			current.remove();
+		}
+	}
+}
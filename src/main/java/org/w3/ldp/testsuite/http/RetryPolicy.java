@@ -0,0 +1,145 @@
+package org.w3.ldp.testsuite.http;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.UnknownHostException;
+import java.util.Date;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import javax.net.ssl.SSLException;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.http.client.utils.DateUtils;
+
+/**
+ * Which requests are sent again after a transient failure, a 502, 503 or
+ * 504 response or an I/O error such as a reset connection, and how long to
+ * wait before each retry.
+ *
+ * <p>
+ * Only the requests that can be repeated without changing the outcome are
+ * retried: GET, HEAD, OPTIONS, DELETE and PUT with {@code If-Match}, with a
+ * body that can be sent again. POST and PATCH never are. The delay doubles
+ * with each retry, with jitter, unless the server asks for another one with
+ * {@code Retry-After}. The retries are recorded in the {@link WireTiming}
+ * of the exchange.
+ * </p>
+ */
+public class RetryPolicy {
+
+	public static final int DEFAULT_RETRIES = 2;
+
+	/** Delay before the first retry, doubled for each retry after it */
+	private static final long BASE_DELAY_MILLIS = 250;
+
+	/** Longest wait before a retry, a longer Retry-After isn't honoured */
+	private static final long MAX_DELAY_MILLIS = TimeUnit.SECONDS.toMillis(30);
+
+	/** Not retried at all */
+	public static final RetryPolicy NONE = new RetryPolicy(0);
+
+	private final int retries;
+
+	/**
+	 * @param retries the retries after the first attempt of a request
+	 */
+	public RetryPolicy(int retries) {
+		this.retries = retries;
+	}
+
+	public int getRetries() {
+		return retries;
+	}
+
+	/**
+	 * @param method the request method
+	 * @param conditional whether the request has an {@code If-Match} header
+	 * @param repeatableBody whether the request body, if any, can be sent again
+	 * @return whether the request can be retried
+	 */
+	public boolean isRetryable(String method, boolean conditional, boolean repeatableBody) {
+		if (retries < 1 || !repeatableBody) {
+			return false;
+		}
+
+		switch (method.toUpperCase(Locale.ENGLISH)) {
+		case "GET":
+		case "HEAD":
+		case "OPTIONS":
+		case "DELETE":
+			return true;
+		case "PUT":
+			return conditional; // otherwise it could replace a later change
+		default:
+			return false;
+		}
+	}
+
+	/**
+	 * @param statusCode the response status
+	 * @return whether the status is a transient server failure
+	 */
+	public boolean isTransient(int statusCode) {
+		return statusCode == 502 || statusCode == 503 || statusCode == 504;
+	}
+
+	/**
+	 * @param e the exception sending the request
+	 * @return whether the exception is a transient network failure
+	 */
+	public boolean isTransient(IOException e) {
+		return !(e instanceof UnknownHostException || e instanceof SSLException
+				|| e.getClass() == InterruptedIOException.class);
+	}
+
+	/**
+	 * @param retry the retry, from 1
+	 * @param retryAfter the {@code Retry-After} header of the response, or null
+	 * @return milliseconds to wait before the retry, or -1 if the server asks
+	 *         for too long a wait
+	 */
+	public long getDelayMillis(int retry, String retryAfter) {
+		if (StringUtils.isNotBlank(retryAfter)) {
+			final long delay = parseRetryAfter(retryAfter.trim());
+			if (delay >= 0) {
+				return delay <= MAX_DELAY_MILLIS ? delay : -1;
+			}
+		}
+
+		final long backoff = Math.min(MAX_DELAY_MILLIS, BASE_DELAY_MILLIS << Math.min(retry - 1, 16));
+		return backoff / 2 + ThreadLocalRandom.current().nextLong(backoff / 2 + 1);
+	}
+
+	/*
+	 * Seconds or an HTTP date, -1 if invalid.
+	 */
+	private static long parseRetryAfter(String retryAfter) {
+		if (StringUtils.isNumeric(retryAfter)) {
+			try {
+				return TimeUnit.SECONDS.toMillis(Long.parseLong(retryAfter));
+			} catch (NumberFormatException e) {
+				return Long.MAX_VALUE;
+			}
+		}
+
+		final Date date = DateUtils.parseDate(retryAfter);
+		return date != null ? Math.max(0, date.getTime() - System.currentTimeMillis()) : -1;
+	}
+
+	/**
+	 * Waits before a retry.
+	 *
+	 * @param millis the delay
+	 * @throws InterruptedIOException if the thread is interrupted
+	 */
+	static void sleep(long millis) throws InterruptedIOException {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted before retrying");
+		}
+	}
+}
@@ -0,0 +1,63 @@
+package org.w3.ldp.testsuite.http;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * What the server advertises for a resource: the methods of the
+ * {@code Allow} header, the media types of {@code Accept-Post} and
+ * {@code Accept-Patch} and the interaction models of the {@code type}
+ * links.
+ *
+ * <p>
+ * Instances are immutable, tests running concurrently share them through
+ * {@link CapabilityRegistry}.
+ * </p>
+ */
+public class ServerCapabilities {
+
+	private final Set<String> allowedMethods;
+	private final Set<String> acceptPost;
+	private final Set<String> acceptPatch;
+	private final Set<String> interactionModels;
+
+	/**
+	 * @param allowedMethods the methods of the Allow header
+	 * @param acceptPost the media types of the Accept-Post header
+	 * @param acceptPatch the media types of the Accept-Patch header
+	 * @param interactionModels the targets of the Link headers with relation type
+	 */
+	public ServerCapabilities(Collection<String> allowedMethods, Collection<String> acceptPost,
+			Collection<String> acceptPatch, Collection<String> interactionModels) {
+		this.allowedMethods = copyOf(allowedMethods);
+		this.acceptPost = copyOf(acceptPost);
+		this.acceptPatch = copyOf(acceptPatch);
+		this.interactionModels = copyOf(interactionModels);
+	}
+
+	private static Set<String> copyOf(Collection<String> values) {
+		return Collections.unmodifiableSet(new LinkedHashSet<>(values));
+	}
+
+	public boolean supports(HttpMethod method) {
+		return allowedMethods.contains(method.getName());
+	}
+
+	public Set<String> getAllowedMethods() {
+		return allowedMethods;
+	}
+
+	public Set<String> getAcceptPost() {
+		return acceptPost;
+	}
+
+	public Set<String> getAcceptPatch() {
+		return acceptPatch;
+	}
+
+	public Set<String> getInteractionModels() {
+		return interactionModels;
+	}
+}
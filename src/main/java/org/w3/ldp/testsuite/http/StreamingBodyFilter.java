@@ -0,0 +1,39 @@
+package org.w3.ldp.testsuite.http;
+
+import com.jayway.restassured.filter.Filter;
+import com.jayway.restassured.filter.FilterContext;
+import com.jayway.restassured.response.Response;
+import com.jayway.restassured.specification.FilterableRequestSpecification;
+import com.jayway.restassured.specification.FilterableResponseSpecification;
+
+/**
+ * Marks a request whose response body is read as a stream, with
+ * {@link Response#asInputStream()}, rather than kept in memory. The test
+ * closes the stream, which releases the connection.
+ *
+ * <p>
+ * {@link ReleaseConnectionFilter} and the transports look for this filter
+ * among the filters of the request, it does nothing itself.
+ * </p>
+ */
+public class StreamingBodyFilter implements Filter {
+
+	public static final StreamingBodyFilter INSTANCE = new StreamingBodyFilter();
+
+	private StreamingBodyFilter() {
+	}
+
+	/**
+	 * @param requestSpec the request
+	 * @return whether the response body of the request is read as a stream
+	 */
+	public static boolean isStreaming(FilterableRequestSpecification requestSpec) {
+		return requestSpec.getDefinedFilters().contains(INSTANCE);
+	}
+
+	@Override
+	public Response filter(FilterableRequestSpecification requestSpec,
+			FilterableResponseSpecification responseSpec, FilterContext ctx) {
+		return ctx.next(requestSpec, responseSpec);
+	}
+}
@@ -0,0 +1,72 @@
+package org.w3.ldp.testsuite.http;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Records the body read and the bytes on the wire of a {@link WireTiming}
+ * when the body ends or is closed, which can be after the exchange for
+ * streamed bodies.
+ */
+class TimedInputStream extends FilterInputStream {
+
+	private final WireTiming timing;
+	private final long head;
+	private long count;
+	private boolean recorded;
+
+	/**
+	 * @param in the response body
+	 * @param timing the exchange
+	 * @param head {@link System#nanoTime()} when the response head arrived
+	 */
+	TimedInputStream(InputStream in, WireTiming timing, long head) {
+		super(in);
+		this.timing = timing;
+		this.head = head;
+	}
+
+	@Override
+	public int read() throws IOException {
+		int b = super.read();
+		if (b == -1) {
+			record();
+		} else {
+			count++;
+		}
+		return b;
+	}
+
+	@Override
+	public int read(byte[] b, int off, int len) throws IOException {
+		int n = super.read(b, off, len);
+		if (n == -1) {
+			record();
+		} else {
+			count += n;
+		}
+		return n;
+	}
+
+	@Override
+	public long skip(long n) throws IOException {
+		long skipped = super.skip(n);
+		count += skipped;
+		return skipped;
+	}
+
+	@Override
+	public void close() throws IOException {
+		record();
+		super.close();
+	}
+
+	private void record() {
+		if (!recorded) {
+			recorded = true;
+			timing.addBodyRead(System.nanoTime() - head);
+			timing.addWireBytes(count);
+		}
+	}
+}
@@ -0,0 +1,31 @@
+package org.w3.ldp.testsuite.http;
+
+import com.jayway.restassured.filter.Filter;
+import com.jayway.restassured.filter.FilterContext;
+import com.jayway.restassured.response.Response;
+import com.jayway.restassured.specification.FilterableRequestSpecification;
+import com.jayway.restassured.specification.FilterableResponseSpecification;
+
+/**
+ * Hands the requests to an {@link HttpTransport}. Must be the last filter
+ * of a request, the filters after it don't run unless the transport calls
+ * them.
+ */
+public class TransportFilter implements Filter {
+
+	private final HttpTransport transport;
+
+	public TransportFilter(HttpTransport transport) {
+		this.transport = transport;
+	}
+
+	public HttpTransport getTransport() {
+		return transport;
+	}
+
+	@Override
+	public Response filter(FilterableRequestSpecification requestSpec,
+			FilterableResponseSpecification responseSpec, FilterContext ctx) {
+		return transport.send(requestSpec, responseSpec, ctx);
+	}
+}
@@ -0,0 +1,233 @@
+package org.w3.ldp.testsuite.http;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang3.StringUtils;
+import org.testng.ITestResult;
+
+/**
+ * Where the time of an HTTP exchange went, as seen from the client. The
+ * durations are in nanoseconds and the sizes in bytes, {@link #UNKNOWN}
+ * when the transport can't tell or the phase didn't happen (a pooled
+ * connection isn't connected again).
+ *
+ * <p>
+ * The TLS handshake is part of {@link #getConnect()}, HttpClient connects
+ * and does the handshake in one call. The Java HTTP client transport
+ * records the time to first byte, counted from the start of the exchange,
+ * and the body read only.
+ * </p>
+ *
+ * @see WireTimingRecorder
+ */
+public class WireTiming {
+
+	public static final long UNKNOWN = -1;
+
+	/** Result the timing is kept with, not exposed to the reports */
+	private final ITestResult owner;
+	private final String test;
+	private final String method;
+	private final String uri;
+	private final long startMillis;
+
+	private volatile int statusCode;
+	private volatile long connectionRequest = UNKNOWN;
+	private volatile long connect = UNKNOWN;
+	private volatile long requestWrite = UNKNOWN;
+	private volatile long timeToFirstByte = UNKNOWN;
+	private volatile long bodyRead = UNKNOWN;
+	private volatile long rateLimitWait = UNKNOWN;
+
+	private volatile String contentEncoding;
+	private volatile long wireBytes = UNKNOWN;
+	private volatile long bodyBytes = UNKNOWN;
+
+	private final List<String> retries = new CopyOnWriteArrayList<>();
+
+	WireTiming(ITestResult owner, String test, String method, String uri) {
+		this.owner = owner;
+		this.test = test;
+		this.method = method;
+		this.uri = uri;
+		this.startMillis = System.currentTimeMillis();
+	}
+
+	/**
+	 * @return the test class and method sending the request, or null
+	 */
+	public String getTest() {
+		return test;
+	}
+
+	public String getMethod() {
+		return method;
+	}
+
+	public String getUri() {
+		return uri;
+	}
+
+	ITestResult getOwner() {
+		return owner;
+	}
+
+	public long getStartMillis() {
+		return startMillis;
+	}
+
+	public int getStatusCode() {
+		return statusCode;
+	}
+
+	/**
+	 * @return time waiting for a pooled connection
+	 */
+	public long getConnectionRequest() {
+		return connectionRequest;
+	}
+
+	/**
+	 * @return time opening a new connection, including the TLS handshake
+	 */
+	public long getConnect() {
+		return connect;
+	}
+
+	/**
+	 * @return time sending the request head and body
+	 */
+	public long getRequestWrite() {
+		return requestWrite;
+	}
+
+	/**
+	 * @return time from the end of the request to the response head, mostly
+	 *         the server's
+	 */
+	public long getTimeToFirstByte() {
+		return timeToFirstByte;
+	}
+
+	/**
+	 * @return time from the response head to the end of the body
+	 */
+	public long getBodyRead() {
+		return bodyRead;
+	}
+
+	/**
+	 * @return time waiting for the rate limits of the host (see
+	 *         {@link RateLimitFilter}), before the request and its retries
+	 */
+	public long getRateLimitWait() {
+		return rateLimitWait;
+	}
+
+	/**
+	 * @return the content coding the body was decoded from, or null
+	 */
+	public String getContentEncoding() {
+		return contentEncoding;
+	}
+
+	/**
+	 * @return size of the body as received
+	 */
+	public long getWireBytes() {
+		return wireBytes;
+	}
+
+	/**
+	 * @return size of the body once decoded, the same as
+	 *         {@link #getWireBytes()} without content coding
+	 */
+	public long getBodyBytes() {
+		return contentEncoding != null ? bodyBytes : wireBytes;
+	}
+
+	/**
+	 * @return why the request was sent again, for each retry (see
+	 *         {@link RetryPolicy})
+	 */
+	public List<String> getRetries() {
+		return Collections.unmodifiableList(retries);
+	}
+
+	void setStatusCode(int statusCode) {
+		this.statusCode = statusCode;
+	}
+
+	/*
+	 * Redirects and retries add up in the same exchange.
+	 */
+
+	void addConnectionRequest(long nanos) {
+		connectionRequest = add(connectionRequest, nanos);
+	}
+
+	void addConnect(long nanos) {
+		connect = add(connect, nanos);
+	}
+
+	void addRequestWrite(long nanos) {
+		requestWrite = add(requestWrite, nanos);
+	}
+
+	void addTimeToFirstByte(long nanos) {
+		timeToFirstByte = add(timeToFirstByte, nanos);
+	}
+
+	void addBodyRead(long nanos) {
+		bodyRead = add(bodyRead, nanos);
+	}
+
+	void addRateLimitWait(long nanos) {
+		rateLimitWait = add(rateLimitWait, nanos);
+	}
+
+	void setContentEncoding(String contentEncoding) {
+		this.contentEncoding = contentEncoding;
+	}
+
+	void addWireBytes(long bytes) {
+		wireBytes = add(wireBytes, bytes);
+	}
+
+	void addBodyBytes(long bytes) {
+		bodyBytes = add(bodyBytes, bytes);
+	}
+
+	void addRetry(String cause) {
+		retries.add(cause);
+	}
+
+	private static long add(long total, long nanos) {
+		return total == UNKNOWN ? nanos : total + nanos;
+	}
+
+	@Override
+	public String toString() {
+		String body = getBodyBytes() == UNKNOWN ? "-" : getBodyBytes() + " bytes";
+		if (contentEncoding != null) {
+			body += String.format(" (%s, %d on the wire)", contentEncoding, wireBytes);
+		}
+		String timing = String.format("%s %s %d: connection request %s, connect %s, request %s, first byte %s, body %s, %s",
+				method, uri, statusCode, millis(connectionRequest), millis(connect),
+				millis(requestWrite), millis(timeToFirstByte), millis(bodyRead), body);
+		if (rateLimitWait > 0) {
+			timing += ", throttled " + millis(rateLimitWait);
+		}
+		if (!retries.isEmpty()) {
+			timing += ", retried after " + StringUtils.join(retries, ", ");
+		}
+		return timing;
+	}
+
+	private static String millis(long nanos) {
+		return nanos == UNKNOWN ? "-" : TimeUnit.NANOSECONDS.toMillis(nanos) + "ms";
+	}
+}
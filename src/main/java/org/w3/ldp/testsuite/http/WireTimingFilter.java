@@ -0,0 +1,28 @@
+package org.w3.ldp.testsuite.http;
+
+import com.jayway.restassured.filter.Filter;
+import com.jayway.restassured.filter.FilterContext;
+import com.jayway.restassured.response.Response;
+import com.jayway.restassured.specification.FilterableRequestSpecification;
+import com.jayway.restassured.specification.FilterableResponseSpecification;
+
+/**
+ * Records the {@link WireTiming} of each request. It goes first so the
+ * transports and the pooled clients fill in the timing of the exchange in
+ * progress, including the body read of {@link ReleaseConnectionFilter}.
+ */
+public class WireTimingFilter implements Filter {
+
+	@Override
+	public Response filter(FilterableRequestSpecification requestSpec,
+			FilterableResponseSpecification responseSpec, FilterContext ctx) {
+		final WireTiming timing = WireTimingRecorder.begin(requestSpec.getMethod().name(), requestSpec.getURI());
+		try {
+			final Response response = ctx.next(requestSpec, responseSpec);
+			timing.setStatusCode(response.getStatusCode());
+			return response;
+		} finally {
+			WireTimingRecorder.end(timing);
+		}
+	}
+}
@@ -0,0 +1,99 @@
+package org.w3.ldp.testsuite.http;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.testng.ITestResult;
+import org.testng.Reporter;
+
+/**
+ * Keeps the {@link WireTiming} of each HTTP exchange with the result of the
+ * test that sent it, so reporters can tell the time spent waiting on the
+ * server from the time spent in the client.
+ *
+ * <p>
+ * The owning test is tracked per thread: on the test thread it's the result
+ * TestNG is running, and requests sent on other threads carry it over (see
+ * {@code LdpTest.async()}). Exchanges without an owner aren't kept.
+ * </p>
+ */
+public class WireTimingRecorder {
+
+	/** Attribute of the test results holding their list of timings */
+	public static final String ATTRIBUTE = "org.w3.ldp.testsuite.wireTimings";
+
+	private static final ThreadLocal<ITestResult> owner = new ThreadLocal<>();
+	private static final ThreadLocal<WireTiming> current = new ThreadLocal<>();
+
+	private WireTimingRecorder() {
+	}
+
+	/**
+	 * @return the test owning the requests sent by this thread, or null
+	 */
+	public static ITestResult getOwner() {
+		final ITestResult result = owner.get();
+		if (result != null) {
+			return result;
+		}
+
+		// TestNG's is inherited by the threads a test starts, which outlive it
+		final ITestResult running = Reporter.getCurrentTestResult();
+		return running != null && running.getStatus() == ITestResult.STARTED ? running : null;
+	}
+
+	/**
+	 * @param result the test owning the requests sent by this thread, or null
+	 */
+	public static void setOwner(ITestResult result) {
+		if (result != null) {
+			owner.set(result);
+		} else {
+			owner.remove();
+		}
+	}
+
+	/**
+	 * @return the exchange in progress on this thread, or null
+	 */
+	static WireTiming current() {
+		return current.get();
+	}
+
+	static WireTiming begin(String method, String uri) {
+		final ITestResult result = getOwner();
+		final String test = result != null
+				? result.getTestClass().getRealClass().getSimpleName() + "." + result.getName()
+				: null;
+		final WireTiming timing = new WireTiming(result, test, method, uri);
+		current.set(timing);
+		return timing;
+	}
+
+	static void end(WireTiming timing) {
+		current.remove();
+
+		final ITestResult result = timing.getOwner();
+		if (result != null) {
+			synchronized (result) {
+				List<WireTiming> timings = getTimings(result);
+				if (timings.isEmpty()) {
+					timings = Collections.synchronizedList(new ArrayList<WireTiming>());
+					result.setAttribute(ATTRIBUTE, timings);
+				}
+				timings.add(timing);
+			}
+		}
+	}
+
+	/**
+	 * @param result a test result
+	 * @return the exchanges of the test, in the order they finished
+	 */
+	@SuppressWarnings("unchecked")
+	public static List<WireTiming> getTimings(ITestResult result) {
+		final Object timings = result.getAttribute(ATTRIBUTE);
+		return timings != null ? (List<WireTiming>) timings : Collections.<WireTiming>emptyList();
+	}
+}
@@ -0,0 +1,234 @@
+package org.w3.ldp.testsuite.mapper;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.graph.impl.GraphBase;
+import org.apache.jena.riot.system.StreamRDFBase;
+import org.apache.jena.shared.PrefixMapping;
+import org.apache.jena.shared.impl.PrefixMappingImpl;
+import org.apache.jena.sparql.core.Quad;
+import org.apache.jena.util.iterator.ExtendedIterator;
+import org.apache.jena.util.iterator.NullIterator;
+import org.apache.jena.util.iterator.WrappedIterator;
+
+/**
+ * A frozen graph for the representations the tests only read. The triples
+ * are kept in two sorted arrays, by subject and by predicate, instead of
+ * the three hash indexes of Jena's default graph: finding by subject,
+ * subject and predicate, predicate, or predicate and object is a binary
+ * search, finding by object alone is a scan.
+ *
+ * <p>
+ * The arrays are sorted by the hash codes of the nodes, so a lookup
+ * narrows down to the triples with the same hash codes and then compares
+ * the nodes. Adding or removing triples fails.
+ * </p>
+ *
+ * @see GraphType#COMPACT
+ */
+public class CompactGraph extends GraphBase {
+
+	private static final Index BY_SUBJECT = new Index(0, 1, 2);
+	private static final Index BY_PREDICATE = new Index(1, 2, 0);
+
+	private final Triple[] bySubject;
+	private final Triple[] byPredicate;
+	private final PrefixMapping prefixes;
+
+	private CompactGraph(Triple[] bySubject, Triple[] byPredicate, PrefixMapping prefixes) {
+		this.bySubject = bySubject;
+		this.byPredicate = byPredicate;
+		this.prefixes = prefixes;
+		prefixes.lock();
+	}
+
+	/**
+	 * @param graph a graph
+	 * @return a frozen copy of it, with its prefixes
+	 */
+	public static CompactGraph copyOf(Graph graph) {
+		final Builder builder = new Builder();
+		builder.prefixes.setNsPrefixes(graph.getPrefixMapping());
+		graph.find().forEachRemaining(builder::triple);
+		return builder.build();
+	}
+
+	@Override
+	protected PrefixMapping createPrefixMapping() {
+		return prefixes;
+	}
+
+	@Override
+	protected int graphBaseSize() {
+		return bySubject.length;
+	}
+
+	@Override
+	protected ExtendedIterator<Triple> graphBaseFind(Triple pattern) {
+		final Node s = pattern.getMatchSubject();
+		final Node p = pattern.getMatchPredicate();
+		final Node o = pattern.getMatchObject();
+
+		final Triple[] triples;
+		final Index index;
+		final Node[] key;
+		if (s != null) {
+			triples = bySubject;
+			index = BY_SUBJECT;
+			key = p == null ? new Node[] { s } : o == null ? new Node[] { s, p } : new Node[] { s, p, o };
+		} else if (p != null) {
+			triples = byPredicate;
+			index = BY_PREDICATE;
+			key = o == null ? new Node[] { p } : new Node[] { p, o };
+		} else {
+			triples = bySubject;
+			index = BY_SUBJECT;
+			key = new Node[0];
+		}
+
+		final int from = index.lowerBound(triples, key);
+		final int to = index.upperBound(triples, key);
+		if (from == to) {
+			return NullIterator.instance();
+		}
+		return WrappedIterator.create(Arrays.asList(triples).subList(from, to).iterator())
+				.filterKeep(pattern::matches);
+	}
+
+	/**
+	 * An order of the triple positions, subject 0, predicate 1 and object 2,
+	 * to sort and search the triples by.
+	 */
+	private static class Index implements Comparator<Triple> {
+
+		private final int[] order;
+
+		Index(int... order) {
+			this.order = order;
+		}
+
+		private Node get(Triple triple, int level) {
+			switch (order[level]) {
+			case 0:
+				return triple.getSubject();
+			case 1:
+				return triple.getPredicate();
+			default:
+				return triple.getObject();
+			}
+		}
+
+		@Override
+		public int compare(Triple a, Triple b) {
+			for (int level = 0; level < order.length; level++) {
+				final int c = Integer.compare(get(a, level).hashCode(), get(b, level).hashCode());
+				if (c != 0) {
+					return c;
+				}
+			}
+			return 0;
+		}
+
+		/*
+		 * Compares the hash codes of the first nodes of the triple to the key.
+		 */
+		private int compare(Triple triple, Node[] key) {
+			for (int level = 0; level < key.length; level++) {
+				final int c = Integer.compare(get(triple, level).hashCode(), key[level].hashCode());
+				if (c != 0) {
+					return c;
+				}
+			}
+			return 0;
+		}
+
+		int lowerBound(Triple[] triples, Node[] key) {
+			int low = 0;
+			int high = triples.length;
+			while (low < high) {
+				final int mid = (low + high) >>> 1;
+				if (compare(triples[mid], key) < 0) {
+					low = mid + 1;
+				} else {
+					high = mid;
+				}
+			}
+			return low;
+		}
+
+		int upperBound(Triple[] triples, Node[] key) {
+			int low = 0;
+			int high = triples.length;
+			while (low < high) {
+				final int mid = (low + high) >>> 1;
+				if (compare(triples[mid], key) <= 0) {
+					low = mid + 1;
+				} else {
+					high = mid;
+				}
+			}
+			return low;
+		}
+	}
+
+	/**
+	 * Collects the triples of a parser, see {@link RdfObjectMapper}.
+	 */
+	public static class Builder extends StreamRDFBase {
+
+		private final List<Triple> triples = new ArrayList<>();
+		private final PrefixMapping prefixes = new PrefixMappingImpl();
+
+		@Override
+		public void triple(Triple triple) {
+			triples.add(triple);
+		}
+
+		@Override
+		public void quad(Quad quad) {
+			if (quad.isDefaultGraph()) {
+				triple(quad.asTriple());
+			}
+		}
+
+		@Override
+		public void prefix(String prefix, String iri) {
+			prefixes.setNsPrefix(prefix, iri);
+		}
+
+		/**
+		 * @return the graph of the triples, without duplicates
+		 */
+		public CompactGraph build() {
+			final Triple[] sorted = triples.toArray(new Triple[0]);
+			triples.clear();
+			Arrays.sort(sorted, BY_SUBJECT);
+
+			// duplicates have the same hash codes, they're in the same run
+			int size = 0;
+			for (Triple triple : sorted) {
+				boolean duplicate = false;
+				for (int i = size - 1; i >= 0 && BY_SUBJECT.compare(sorted[i], triple) == 0; i--) {
+					if (sorted[i].equals(triple)) {
+						duplicate = true;
+						break;
+					}
+				}
+				if (!duplicate) {
+					sorted[size++] = triple;
+				}
+			}
+
+			final Triple[] bySubject = Arrays.copyOf(sorted, size);
+			final Triple[] byPredicate = bySubject.clone();
+			Arrays.sort(byPredicate, BY_PREDICATE);
+			return new CompactGraph(bySubject, byPredicate, prefixes);
+		}
+	}
+}
@@ -0,0 +1,84 @@
+package org.w3.ldp.testsuite.mapper;
+
+import java.io.IOException;
+import java.util.Locale;
+
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.riot.system.StreamRDF;
+import org.apache.jena.riot.system.StreamRDFLib;
+
+/**
+ * The graph the representations the tests only read are parsed into (see
+ * {@code --graph}). The models a test changes, for instance before a PUT,
+ * are always {@link #MUTABLE}.
+ */
+public enum GraphType {
+
+	/** Jena's default graph, indexed by subject, predicate and object */
+	MUTABLE {
+		@Override
+		public Model read(Parser parser) throws IOException {
+			final Model model = ModelFactory.createDefaultModel();
+			parser.parse(StreamRDFLib.graph(model.getGraph()));
+			return model;
+		}
+
+		@Override
+		public Model freeze(Model model) {
+			return model;
+		}
+	},
+
+	/** A {@link CompactGraph}, frozen and smaller */
+	COMPACT {
+		@Override
+		public Model read(Parser parser) throws IOException {
+			final CompactGraph.Builder builder = new CompactGraph.Builder();
+			parser.parse(builder);
+			return ModelFactory.createModelForGraph(builder.build());
+		}
+
+		@Override
+		public Model freeze(Model model) {
+			if (model.getGraph() instanceof CompactGraph) {
+				return model;
+			}
+			return ModelFactory.createModelForGraph(CompactGraph.copyOf(model.getGraph()));
+		}
+	};
+
+	/**
+	 * Sends RDF to a sink.
+	 */
+	public interface Parser {
+		void parse(StreamRDF sink) throws IOException;
+	}
+
+	/**
+	 * @param name mutable or compact
+	 * @return the graph type
+	 * @throws IllegalArgumentException for other names
+	 */
+	public static GraphType parse(String name) {
+		try {
+			return valueOf(name.trim().toUpperCase(Locale.ENGLISH));
+		} catch (IllegalArgumentException e) {
+			throw new IllegalArgumentException("ERROR: invalid graph, " + name + " (use mutable or compact)");
+		}
+	}
+
+	/**
+	 * @param parser sends the triples
+	 * @return a model of this type with the triples
+	 * @throws IOException if the parser can't read its input
+	 */
+	public abstract Model read(Parser parser) throws IOException;
+
+	/**
+	 * @param model a model
+	 * @return a frozen copy of the model, or the model itself if it's
+	 *         already of this type or {@link #MUTABLE}
+	 */
+	public abstract Model freeze(Model model);
+}
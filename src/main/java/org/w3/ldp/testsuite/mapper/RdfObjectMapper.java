@@ -1,10 +1,17 @@
 package org.w3.ldp.testsuite.mapper;
 
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PushbackInputStream;
+import java.io.UncheckedIOException;
 import java.io.UnsupportedEncodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 
-import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.input.ReaderInputStream;
+import org.apache.http.entity.ContentType;
 import org.apache.jena.atlas.json.JSON;
 import org.apache.jena.atlas.json.JsonArray;
 import org.apache.jena.atlas.json.JsonObject;
@@ -13,8 +20,12 @@ import org.w3.ldp.testsuite.http.MediaTypes;
 import org.w3.ldp.testsuite.matcher.HeaderMatchers;
 
 import org.apache.jena.rdf.model.Model;
-import org.apache.jena.rdf.model.ModelFactory;
 import org.apache.jena.rdf.model.RDFWriterI;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFLanguages;
+import org.apache.jena.riot.RDFParser;
+import org.apache.jena.riot.RDFParserBuilder;
+import org.apache.jena.riot.system.StreamRDF;
 import com.jayway.restassured.mapper.ObjectMapper;
 import com.jayway.restassured.mapper.ObjectMapperDeserializationContext;
 import com.jayway.restassured.mapper.ObjectMapperSerializationContext;
@@ -22,16 +33,26 @@ import com.jayway.restassured.mapper.ObjectMapperSerializationContext;
 public class RdfObjectMapper implements ObjectMapper {
 
 	private String baseURI;
+	private GraphType graph;
 
 	public RdfObjectMapper() {
-		this.baseURI = "";
+		this("");
 	}
 
 	public RdfObjectMapper(String baseURI) {
+		this(baseURI, GraphType.MUTABLE);
+	}
+
+	/**
+	 * @param baseURI the base URI of the relative URIs
+	 * @param graph the graph the responses are parsed into
+	 */
+	public RdfObjectMapper(String baseURI, GraphType graph) {
 		this.baseURI = baseURI;
+		this.graph = graph;
 	}
 
-	private String getLang(String mediaType) {
+	private static String getLang(String mediaType) {
 		if (HeaderMatchers.isTurtleCompatibleContentType().matches(mediaType)) {
 			return "TURTLE";
 		} else if (MediaTypes.APPLICATION_RDF_XML.equals(mediaType)) {
@@ -44,16 +65,52 @@ public class RdfObjectMapper implements ObjectMapper {
 		throw new IllegalArgumentException("Unsupported media type: " + mediaType);
 	}
 
+	/**
+	 * Parses the response as it's read, without decoding it to a string
+	 * first.
+	 */
 	@Override
 	public Object deserialize(ObjectMapperDeserializationContext context) {
-		String input = context.getDataToDeserialize().asString();
-		Model m = ModelFactory.createDefaultModel();
-
-		if (!input.isEmpty()) {
-			m.read(IOUtils.toInputStream(input), baseURI, getLang(context.getContentType()));
+		try (InputStream in = context.getDataToDeserialize().asInputStream()) {
+			return graph.read(sink -> parse(in, context.getContentType(), baseURI, sink));
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
 		}
+	}
 
-		return m;
+	/**
+	 * Parses a response body into a sink, nothing if it's empty. Turtle and
+	 * JSON-LD are UTF-8 and RDF/XML says its encoding, a charset in the
+	 * content type overrides them.
+	 *
+	 * @param body the body
+	 * @param contentType its content type
+	 * @param baseURI the base URI of the relative URIs
+	 * @param sink receives the triples as they're parsed
+	 * @throws IOException if the body can't be read
+	 */
+	static void parse(InputStream body, String contentType, String baseURI, StreamRDF sink) throws IOException {
+		PushbackInputStream in = new PushbackInputStream(body);
+		int first = in.read();
+		if (first == -1) {
+			return;
+		}
+		in.unread(first);
+
+		ContentType type = ContentType.parse(contentType);
+		Lang lang = RDFLanguages.nameToLang(getLang(type.getMimeType()));
+		RDFParserBuilder parser = RDFParser.create().base(baseURI).lang(lang);
+		Charset charset = type.getCharset();
+		if (charset != null && !StandardCharsets.UTF_8.equals(charset) && !Lang.RDFXML.equals(lang)) {
+			// RIOT reads UTF-8, the XML parser reads the encoding of the XML declaration
+			parser.source(ReaderInputStream.builder()
+					.setReader(new InputStreamReader(in, charset))
+					.setCharset(StandardCharsets.UTF_8)
+					.get());
+		} else {
+			parser.source(in);
+		}
+		parser.parse(sink);
 	}
 
 	@Override
@@ -0,0 +1,215 @@
+package org.w3.ldp.testsuite.mapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.riot.system.StreamRDFBase;
+import org.apache.jena.sparql.core.Quad;
+import org.w3.ldp.testsuite.http.StreamingBodyFilter;
+
+import com.jayway.restassured.response.Response;
+
+/**
+ * Checks triple patterns against a response while it's parsed, without
+ * building a model. Parsing stops as soon as every expectation is decided,
+ * so a large container is only read up to the triples a test looks for.
+ *
+ * <pre>
+ * TripleExpectations expectations = new TripleExpectations(containerUri);
+ * Expectation contained = expectations.contains(containerUri, LDP.contains.stringValue(), location);
+ * expectations.check(response);
+ * assertTrue(contained.isMet(), "Container does not have a containment triple");
+ * </pre>
+ *
+ * <p>
+ * A null node matches any node. Mark the request with
+ * {@link StreamingBodyFilter} to parse the body as it arrives rather than
+ * once it's in memory.
+ * </p>
+ */
+public class TripleExpectations {
+
+	enum Kind {
+		CONTAINS, ABSENT, COUNT, FIRST_MATCH
+	}
+
+	/**
+	 * A triple pattern and what's expected of it, read once the response has
+	 * been checked.
+	 */
+	public static class Expectation {
+
+		private final Kind kind;
+		private final Triple pattern;
+		private Triple match;
+		private long count;
+
+		Expectation(Kind kind, Triple pattern) {
+			this.kind = kind;
+			this.pattern = pattern;
+		}
+
+		/**
+		 * @return whether a triple matched a contains or first match
+		 *         expectation, or none matched an absent one
+		 */
+		public boolean isMet() {
+			return kind == Kind.ABSENT ? match == null : match != null;
+		}
+
+		/**
+		 * @return the first triple matching the pattern, or null
+		 */
+		public Triple getMatch() {
+			return match;
+		}
+
+		/**
+		 * @return the triples matching a count expectation, the others stop
+		 *         counting once decided
+		 */
+		public long getCount() {
+			return count;
+		}
+
+		/*
+		 * A count is only known at the end of the response, the others once a
+		 * triple matches.
+		 */
+		boolean isDecided() {
+			return kind != Kind.COUNT && match != null;
+		}
+
+		void accept(Triple triple) {
+			if (pattern.matches(triple)) {
+				if (match == null) {
+					match = triple;
+				}
+				count++;
+			}
+		}
+
+		@Override
+		public String toString() {
+			return kind + " " + pattern;
+		}
+	}
+
+	private final String baseURI;
+	private final List<Expectation> expectations = new ArrayList<>();
+
+	/**
+	 * @param baseURI the base URI of the relative URIs in the response
+	 */
+	public TripleExpectations(String baseURI) {
+		this.baseURI = baseURI;
+	}
+
+	public Expectation contains(String subject, String predicate, String object) {
+		return contains(uri(subject), uri(predicate), uri(object));
+	}
+
+	public Expectation contains(Node subject, Node predicate, Node object) {
+		return add(Kind.CONTAINS, subject, predicate, object);
+	}
+
+	public Expectation absent(String subject, String predicate, String object) {
+		return absent(uri(subject), uri(predicate), uri(object));
+	}
+
+	public Expectation absent(Node subject, Node predicate, Node object) {
+		return add(Kind.ABSENT, subject, predicate, object);
+	}
+
+	public Expectation count(String subject, String predicate, String object) {
+		return count(uri(subject), uri(predicate), uri(object));
+	}
+
+	public Expectation count(Node subject, Node predicate, Node object) {
+		return add(Kind.COUNT, subject, predicate, object);
+	}
+
+	public Expectation firstMatch(String subject, String predicate, String object) {
+		return firstMatch(uri(subject), uri(predicate), uri(object));
+	}
+
+	public Expectation firstMatch(Node subject, Node predicate, Node object) {
+		return add(Kind.FIRST_MATCH, subject, predicate, object);
+	}
+
+	private Expectation add(Kind kind, Node subject, Node predicate, Node object) {
+		final Expectation expectation = new Expectation(kind, Triple.createMatch(subject, predicate, object));
+		expectations.add(expectation);
+		return expectation;
+	}
+
+	private static Node uri(String uri) {
+		return uri != null ? NodeFactory.createURI(uri) : Node.ANY;
+	}
+
+	/**
+	 * Parses the response body until the expectations are decided, then
+	 * closes it.
+	 *
+	 * @param response the response
+	 * @return this, to read the expectations
+	 */
+	public TripleExpectations check(Response response) {
+		try (InputStream in = response.asInputStream()) {
+			RdfObjectMapper.parse(in, response.getContentType(), baseURI, new Sink());
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		} catch (RuntimeException e) {
+			// the parsers may wrap what the sink throws
+			if (ExceptionUtils.indexOfThrowable(e, Decided.class) < 0) {
+				throw e;
+			}
+		}
+		return this;
+	}
+
+	private class Sink extends StreamRDFBase {
+
+		@Override
+		public void triple(Triple triple) {
+			boolean decided = true;
+			for (Expectation expectation : expectations) {
+				if (!expectation.isDecided()) {
+					expectation.accept(triple);
+					decided &= expectation.isDecided();
+				}
+			}
+			if (decided) {
+				throw Decided.INSTANCE;
+			}
+		}
+
+		@Override
+		public void quad(Quad quad) {
+			if (quad.isDefaultGraph()) {
+				triple(quad.asTriple());
+			}
+		}
+	}
+
+	/**
+	 * Stops the parser once every expectation is decided.
+	 */
+	private static class Decided extends RuntimeException {
+
+		private static final long serialVersionUID = 1L;
+
+		static final Decided INSTANCE = new Decided();
+
+		private Decided() {
+			super("Every expectation is decided", null, false, false);
+		}
+	}
+}
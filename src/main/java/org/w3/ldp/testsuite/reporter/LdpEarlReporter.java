@@ -1,5 +1,6 @@
 package org.w3.ldp.testsuite.reporter;
 
+import java.io.File;
 import java.io.IOException;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
@@ -62,13 +63,18 @@ public class LdpEarlReporter extends AbstractEarlReporter implements IReporter {
 	private static String mbox;
 	private static String description;
 	private static String shortname;
-	private static ArrayList<String> missingParms = new ArrayList<>();
+	private final ArrayList<String> missingParms = new ArrayList<>();
 
 	private static Property ranAsClass = ResourceFactory
 			.createProperty(LDP.LDPT_NAMESPACE + "ranAsClass");
 
+	private static Property ranAgainst = ResourceFactory
+			.createProperty(LDP.LDPT_NAMESPACE + "ranAgainst");
+
 	private static String TITLE = "ldp-testsuite";
 
+	private IOException error;
+
 	private IResultMap passedTests;
 	private IResultMap failedTests;
 	private IResultMap skippedTests;
@@ -81,12 +87,15 @@ public class LdpEarlReporter extends AbstractEarlReporter implements IReporter {
 
 	@Override
 	public void generateReport(List<XmlSuite> xmlSuites, List<ISuite> suites, String outputDirectory) {
+		error = null;
 		try {
 			createWriter(this.outputDirectory, "");
 		} catch (IOException e) {
-			e.printStackTrace(System.err);
-			System.exit(1);
+			error = e;
+			return;
 		}
+		// a resident suite (--daemon) generates a report per run
+		missingParms.clear();
 		createModel();
 		createAssertions(suites);
 		write();
@@ -107,11 +116,21 @@ public class LdpEarlReporter extends AbstractEarlReporter implements IReporter {
 		try {
 			endWriter();
 		} catch (IOException e) {
-			e.printStackTrace(System.err);
-			System.exit(1);
+			error = e;
 		}
 	}
 
+	/**
+	 * TestNG only logs the exceptions of the reporters, so the run checks
+	 * this once it has finished rather than the reporter exiting the JVM,
+	 * which may be serving other runs (see --daemon).
+	 *
+	 * @return the error writing the last report, or null
+	 */
+	public IOException getError() {
+		return error;
+	}
+
 	private void createAssertions(List<ISuite> suites) {
 		for (ISuite suite : suites) {
 			// Acquire parameters
@@ -190,22 +209,24 @@ public class LdpEarlReporter extends AbstractEarlReporter implements IReporter {
 				passedTests = testContext.getPassedTests();
 				failedTests = testContext.getFailedTests();
 				skippedTests = testContext.getSkippedTests();
-				getResultProperties(failedTests, FAIL);
-				getResultProperties(skippedTests, SKIP);
-				getResultProperties(passedTests, PASS);
+				// name the target server when there is more than one
+				String target = tests.size() > 1 ? testContext.getName() : null;
+				getResultProperties(failedTests, FAIL, target);
+				getResultProperties(skippedTests, SKIP, target);
+				getResultProperties(passedTests, PASS, target);
 			}
 
 		}
 
 	}
 
-	private void getResultProperties(IResultMap tests, String status) {
+	private void getResultProperties(IResultMap tests, String status, String target) {
 		for (ITestResult result : tests.getAllResults()) {
-			makeResultResource(result, status);
+			makeResultResource(result, status, target);
 		}
 	}
 
-	private void makeResultResource(ITestResult result, String status) {
+	private void makeResultResource(ITestResult result, String status, String target) {
 		String className = result.getTestClass().getName();
 		className = className.substring(className
 				.lastIndexOf(".") + 1);
@@ -299,6 +320,9 @@ public class LdpEarlReporter extends AbstractEarlReporter implements IReporter {
 
 		assertionResource.addProperty(Earl.assertedBy, assertorResource);
 		assertionResource.addLiteral(ranAsClass, result.getTestClass().getRealClass().getSimpleName());
+		if (target != null) {
+			assertionResource.addLiteral(ranAgainst, target);
+		}
 
 		resultResource.addProperty(DCTerms.date, model.createTypedLiteral(GregorianCalendar.getInstance()));
 
@@ -345,6 +369,20 @@ public class LdpEarlReporter extends AbstractEarlReporter implements IReporter {
 		return null;
 	}
 
+	/**
+	 * @return the Turtle report file, written after the tests run
+	 */
+	public File getTurtleFile() {
+		return new File(outputDirectory, getFilename() + ".ttl");
+	}
+
+	/**
+	 * @return the JSON-LD report file, written after the tests run
+	 */
+	public File getJsonLdFile() {
+		return new File(outputDirectory, getFilename() + ".jsonld");
+	}
+
 	@Override
     protected String getFilename() {
 	    return TITLE + "-execution-report-earl";
@@ -31,6 +31,7 @@ import org.testng.ITestContext;
 import org.testng.ITestNGMethod;
 import org.testng.ITestResult;
 import org.testng.annotations.Test;
+import org.testng.internal.ResultMap;
 import org.testng.internal.Utils;
 import org.testng.xml.XmlSuite;
 import org.w3.ldp.testsuite.BuildProperties;
@@ -80,7 +81,7 @@ public class LdpHtmlReporter implements IReporter {
 
 	private List<ITestNGMethod> indirect = new ArrayList<ITestNGMethod>();
 	
-	private static StringWriter graphs = new StringWriter();
+	private StringWriter graphs = new StringWriter();
 	
 	private static ArrayList<String> colors = new ArrayList<String>(Arrays.asList("#42d992", "#1cbfbb", "#1d0b4e", "#bf1c56"));
 
@@ -94,6 +95,7 @@ public class LdpHtmlReporter implements IReporter {
 		try {
 			for (ISuite suite : suites) {
 				html = new HtmlCanvas();
+				graphs = new StringWriter();
 				html.html().head();
 
 				writeCss();
@@ -101,15 +103,19 @@ public class LdpHtmlReporter implements IReporter {
 						.body();
 				html.h1().content(LdpTestSuite.NAME + " Summary");
 
-				// Getting the results for the said suite
+				// Getting the results for the said suite, merging the tests
+				// when the suite ran against more than one server
 				Map<String, ISuiteResult> suiteResults = suite.getResults();
+				passedTests = new ResultMap();
+				failedTests = new ResultMap();
+				skippedTests = new ResultMap();
 
 				for (ISuiteResult sr : suiteResults.values()) {
 
 					ITestContext tc = sr.getTestContext();
-					passedTests = tc.getPassedTests();
-					failedTests = tc.getFailedTests();
-					skippedTests = tc.getSkippedTests();
+					addResults(passedTests, tc.getPassedTests());
+					addResults(failedTests, tc.getFailedTests());
+					addResults(skippedTests, tc.getSkippedTests());
 				}
 				
 				// Initialize variables for charts
@@ -164,6 +170,19 @@ public class LdpHtmlReporter implements IReporter {
 		this.outputName = title;
 	}
 
+	/**
+	 * @return the HTML report file, written after the tests run
+	 */
+	public File getReportFile() {
+		return new File(outputDirectory, outputName + "-execution-report.html");
+	}
+
+	private void addResults(IResultMap to, IResultMap from) {
+		for (ITestResult result : from.getAllResults()) {
+			to.addResult(result);
+		}
+	}
+
 	private void writeCss() throws IOException {
 
 		html.style().write(StringResource.get("reportStyle.css"), NO_ESCAPE)
@@ -373,17 +392,21 @@ public class LdpHtmlReporter implements IReporter {
 			Map<String, ISuiteResult> r = suite.getResults();
 			for (ISuiteResult r2 : r.values()) {
 				ITestContext testContext = r2.getTestContext();
-				makeMethodsList(testContext);
+				makeMethodsList(testContext, r.size() > 1);
 			}
 		}
 	}
 
-	private void makeMethodsList(ITestContext testContext) throws IOException {
+	private void makeMethodsList(ITestContext testContext, boolean showTestName) throws IOException {
 		IResultMap failed = testContext.getFailedTests();
 		IResultMap passed = testContext.getPassedTests();
 		IResultMap skipped = testContext.getSkippedTests();
 
-		html.h1(class_("center")).content("Methods called");
+		if (showTestName) {
+			html.h1(class_("center")).content("Methods called for " + testContext.getName());
+		} else {
+			html.h1(class_("center")).content("Methods called");
+		}
 		html.a(href("#Skipped")).write("Go To Skipped Tests").br()._a();
 		html.a(href("#Passed")).write("Go To Passed Tests").br()._a();
 		html.a(href("#Indirect")).write("Go To Indirect Tests").br()._a();
@@ -0,0 +1,313 @@
+package org.w3.ldp.testsuite.reporter;
+
+import static org.rendersnake.HtmlAttributesFactory.NO_ESCAPE;
+import static org.rendersnake.HtmlAttributesFactory.class_;
+import static org.rendersnake.HtmlAttributesFactory.href;
+import static org.rendersnake.HtmlAttributesFactory.id;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.Property;
+import org.apache.jena.rdf.model.Resource;
+import org.apache.jena.rdf.model.ResourceFactory;
+import org.apache.jena.rdf.model.Statement;
+import org.apache.jena.riot.RDFDataMgr;
+import org.apache.jena.vocabulary.RDF;
+import org.rendersnake.HtmlCanvas;
+import org.rendersnake.StringResource;
+import org.testng.annotations.Test;
+import org.w3.ldp.testsuite.BuildProperties;
+import org.w3.ldp.testsuite.LdpTestSuite;
+import org.w3.ldp.testsuite.test.LdpTest;
+import org.w3.ldp.testsuite.vocab.Earl;
+import org.w3.ldp.testsuite.vocab.LDP;
+
+/**
+ * Merges the EARL reports of several runs, for instance the shards of one
+ * run (see {@code --shard}), into one EARL report and an HTML summary. The
+ * summary has the requirement counts and test case lists of
+ * {@link LdpHtmlReporter}, computed from the EARL assertions alone.
+ *
+ * <p>
+ * An assertion replaces the assertions of earlier reports for the same test
+ * case and target, so merging a rerun (see {@code --rerun-from}) after the
+ * original report updates its outcomes.
+ * </p>
+ */
+public class LdpReportMerger extends AbstractEarlReporter {
+
+	private static final String PASS = "Passed";
+	private static final String FAIL = "Failed";
+	private static final String SKIP = "Skipped";
+
+	private static final Property ranAgainst = ResourceFactory
+			.createProperty(LDP.LDPT_NAMESPACE + "ranAgainst");
+
+	private final TestCaseIndex index = new TestCaseIndex();
+
+	private String title = "ldp-testsuite";
+
+	private HtmlCanvas html;
+
+	public LdpReportMerger() {
+		this.outputDirectory = LdpTestSuite.OUTPUT_DIR;
+	}
+
+	public void setTitle(String title) {
+		this.title = title;
+	}
+
+	@Override
+	protected String getFilename() {
+		return title + "-execution-report-earl";
+	}
+
+	/**
+	 * Gets the test cases that didn't pass in an EARL report.
+	 *
+	 * @param report the EARL report
+	 * @return the names of the failed and skipped test cases
+	 */
+	public static Set<String> getNonPassingTestCases(Model report) {
+		Set<String> testCases = new LinkedHashSet<>();
+		for (Result result : getResults(report)) {
+			if (!PASS.equals(result.status)) {
+				testCases.add(result.testCase);
+			}
+		}
+		return testCases;
+	}
+
+	/**
+	 * Merges EARL reports. Give one format, Turtle or JSON-LD, of each run.
+	 *
+	 * @param reports the file names of the EARL reports, oldest first
+	 * @throws IOException if the merged reports can't be written
+	 */
+	public void merge(List<String> reports) throws IOException {
+		Map<String, Model> models = new LinkedHashMap<>();
+		for (String report : reports) {
+			models.put(report, RDFDataMgr.loadModel(report));
+		}
+		merge(models);
+	}
+
+	/**
+	 * Merges EARL reports already read.
+	 *
+	 * @param reports the EARL reports by name, oldest first
+	 * @throws IOException if the merged reports can't be written
+	 */
+	public void merge(Map<String, Model> reports) throws IOException {
+		createModel();
+		for (Model next : reports.values()) {
+			Set<String> replaced = new HashSet<>();
+			for (Result result : getResults(next)) {
+				replaced.add(result.getKey());
+			}
+			for (Result result : getResults(model)) {
+				if (replaced.contains(result.getKey())) {
+					removeAssertion(result.assertion);
+				}
+			}
+			model.add(next);
+		}
+
+		createWriter(outputDirectory, "");
+		write();
+		endWriter();
+
+		writeSummary(new ArrayList<>(reports.keySet()));
+	}
+
+	private void removeAssertion(Resource assertion) {
+		Resource testResult = assertion.getPropertyResourceValue(Earl.testResult);
+		if (testResult != null && testResult.isAnon()) {
+			testResult.removeProperties();
+		}
+		assertion.removeProperties();
+	}
+
+	private void writeSummary(List<String> reports) throws IOException {
+		List<Result> results = getResults(model);
+
+		html = new HtmlCanvas();
+		html.html().head();
+		html.style().write(StringResource.get("reportStyle.css"), NO_ESCAPE)._style();
+		html.title().content(LdpTestSuite.NAME + " Report")._head().body();
+		html.h1().content(LdpTestSuite.NAME + " Summary");
+
+		writeSummaryTable(results);
+
+		html.h2().content("Merged Reports");
+		html.ul();
+		for (String report : reports) {
+			html.li().content(report);
+		}
+		html._ul();
+
+		html.h1(class_("center")).content("Methods called");
+		writeResultTable(results, FAIL);
+		html.br();
+		writeResultTable(results, SKIP);
+		html.br();
+		writeResultTable(results, PASS);
+		html._body()._html();
+
+		File dir = new File(outputDirectory);
+		dir.mkdirs();
+		File file = new File(dir, title + "-execution-report.html");
+		try (BufferedWriter writer = new BufferedWriter(new FileWriter(file))) {
+			writer.write(html.toHtml());
+		}
+		System.out.println("Writing HTML summary:");
+		System.out.println("\t" + file.getAbsolutePath());
+	}
+
+	private void writeSummaryTable(List<Result> results) throws IOException {
+		html.table(class_("summary"));
+		html.tr().th().content("Test Suite Name");
+		html.th().content("Revision");
+		html.th().content("Report Date");
+		html.th().content("Skipped Tests");
+		html.th().content("MUST Requirements");
+		html.th().content("SHOULD Requirements");
+		html.th().content("MAY Requirements");
+		html._tr();
+
+		html.tr(class_("alt")).td().content(LdpTestSuite.NAME);
+		final String commit = BuildProperties.getRevision();
+		if (commit == null) {
+			html.td().content("<UNKNOWN>");
+		} else {
+			html.td().a(href("https://github.com/w3c/ldp-testsuite/commit/" + commit)).content(commit)._td();
+		}
+		html.td().content(new Date().toString());
+
+		int skipped = count(results, null, SKIP);
+		if (skipped == 0) {
+			html.td().i().write("No tests of this type called")._i()._td();
+		} else {
+			html.td().write("(").b().write(skipped + "/" + results.size())._b()
+					.write(") ").write("of the total tests.")._td();
+		}
+
+		for (String group : Arrays.asList(LdpTest.MUST, LdpTest.SHOULD, LdpTest.MAY)) {
+			int passed = count(results, group, PASS);
+			int failed = count(results, group, FAIL);
+			int skippedInGroup = count(results, group, SKIP);
+			int total = passed + failed + skippedInGroup;
+
+			html.td().b().write(passed + "/" + total)._b();
+			html.write(" Passed");
+			html.br().b().write(failed + "/" + total)._b();
+			html.write(" Failed");
+			html.br().b().write(skippedInGroup + "/" + total)._b();
+			html.write(" Skipped");
+			html._td();
+		}
+		html._tr();
+		html._table();
+	}
+
+	private void writeResultTable(List<Result> results, String status) throws IOException {
+		html.table(class_("indented"));
+		html.tr().th(class_(status)).a(id(status)).write(status + " Test Cases")._a()._th();
+		html.th(class_(status)).content("Groups");
+		html.th(class_(status)).content("Description of Test Method")._tr();
+		for (Result result : results) {
+			if (!status.equals(result.status)) {
+				continue;
+			}
+
+			html.tr().td().write(result.testCase);
+			if (result.target != null) {
+				html.br().em().write(result.target)._em();
+			}
+			html._td();
+			Method method = index.getMethod(result.testCase);
+			Test test = method != null ? method.getAnnotation(Test.class) : null;
+			html.td().content(test != null ? Arrays.toString(test.groups()) : "[]");
+			html.td().content(test != null && !test.description().isEmpty() ? test.description() : "No Description found");
+			html._tr();
+		}
+		html._table();
+	}
+
+	private int count(List<Result> results, String group, String status) {
+		int count = 0;
+		for (Result result : results) {
+			if (!status.equals(result.status)) {
+				continue;
+			}
+			if (group == null) {
+				count++;
+				continue;
+			}
+
+			Method method = index.getMethod(result.testCase);
+			if (method != null && Arrays.asList(method.getAnnotation(Test.class).groups()).contains(group)) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	private static List<Result> getResults(Model model) {
+		List<Result> results = new ArrayList<>();
+		for (Resource assertion : model.listSubjectsWithProperty(RDF.type, Earl.Assertion).toList()) {
+			Resource test = assertion.getPropertyResourceValue(Earl.test);
+			Resource testResult = assertion.getPropertyResourceValue(Earl.testResult);
+			Resource outcome = testResult != null ? testResult.getPropertyResourceValue(Earl.outcome) : null;
+			if (test == null || outcome == null || !test.isURIResource()) {
+				continue;
+			}
+
+			final String status;
+			if (Earl.passed.getURI().equals(outcome.getURI())) {
+				status = PASS;
+			} else if (Earl.failed.getURI().equals(outcome.getURI())) {
+				status = FAIL;
+			} else {
+				status = SKIP;
+			}
+
+			Statement target = assertion.getProperty(ranAgainst);
+			results.add(new Result(assertion, TestCaseIndex.getTestCaseName(test.getURI()), status,
+					target != null ? target.getString() : null));
+		}
+		return results;
+	}
+
+	private static class Result {
+		final Resource assertion;
+		final String testCase;
+		final String status;
+		final String target;
+
+		Result(Resource assertion, String testCase, String status, String target) {
+			this.assertion = assertion;
+			this.testCase = testCase;
+			this.status = status;
+			this.target = target;
+		}
+
+		String getKey() {
+			return target == null ? testCase : testCase + " " + target;
+		}
+	}
+}
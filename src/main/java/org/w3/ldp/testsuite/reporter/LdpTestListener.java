@@ -1,12 +1,18 @@
 package org.w3.ldp.testsuite.reporter;
 
 import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.lang3.text.WordUtils;
 import org.testng.ITestContext;
 import org.testng.ITestResult;
 import org.testng.TestListenerAdapter;
 import org.testng.internal.Utils;
+import org.w3.ldp.testsuite.http.WireTiming;
+import org.w3.ldp.testsuite.http.WireTimingRecorder;
 
 public class LdpTestListener extends TestListenerAdapter {
 
@@ -14,26 +20,56 @@ public class LdpTestListener extends TestListenerAdapter {
 	private static final String SKIP = "Skipped";
 	private static final String PASSED = "Passed";
 
-	private long startTime;
-	private StringBuffer errors;
+	/*
+	 * One per target: with --targets, the targets run at the same time.
+	 */
+	private final ConcurrentMap<ITestContext, Summary> summaries = new ConcurrentHashMap<>();
+
+	private static class Summary {
+		final long startTime = System.currentTimeMillis();
+		final StringBuffer errors = new StringBuffer();
+		final StringBuffer retries = new StringBuffer();
+	}
 
 	@Override
 	public void onStart(ITestContext testContext) {
-		startTime = System.currentTimeMillis();
-		errors = new StringBuffer();
+		summaries.put(testContext, new Summary());
 	}
 
 	@Override
 	public void onFinish(ITestContext testContext) {
+		Summary summary = summaries.remove(testContext);
+		if (summary == null) {
+			return;
+		}
+
 		long now = System.currentTimeMillis();
-		double timeInSeconds = (double) (now - startTime) / 1000;
-		System.out.printf("%nTotal Time: %.2fs%n", timeInSeconds);
-		
-		if (errors.length() != 0) {
-			System.err.println(errors);
+		double timeInSeconds = (double) (now - summary.startTime) / 1000;
+		boolean severalTargets = testContext.getSuite().getXmlSuite().getTests().size() > 1;
+
+		// so the summaries of targets finishing together don't interleave
+		synchronized (LdpTestListener.class) {
+			if (severalTargets) {
+				System.out.printf("%nTotal Time (%s): %.2fs%n", testContext.getName(), timeInSeconds);
+			} else {
+				System.out.printf("%nTotal Time: %.2fs%n", timeInSeconds);
+			}
+
+			if (summary.retries.length() != 0) {
+				System.err.println("\nWARNING: some requests failed transiently and were retried:");
+				System.err.print(summary.retries);
+			}
+
+			if (summary.errors.length() != 0) {
+				System.err.println(summary.errors);
+			}
 		}
 	}
 
+	private Summary summary(ITestResult tr) {
+		return summaries.computeIfAbsent(tr.getTestContext(), context -> new Summary());
+	}
+
 	@Override
 	public void onTestFailure(ITestResult tr) {
 		log(tr, FAIL);
@@ -41,6 +77,7 @@ public class LdpTestListener extends TestListenerAdapter {
 	}
 
 	protected void printErrorDetails(ITestResult tr) {
+		StringBuffer errors = summary(tr).errors;
 		errors.append("\n[FAILURE] ");
 		errors.append(tr.getTestClass().getRealClass().getSimpleName());
 		errors.append(".");
@@ -67,11 +104,75 @@ public class LdpTestListener extends TestListenerAdapter {
 
 	private void log(ITestResult tr, String status) {
 		System.out.printf(
-				"%-50s %-17s %-8s %-15s %8s%n",
+				"%-50s %-17s %-8s %-15s %8s %s%n",
 				tr.getName(),
 				tr.getTestClass().getRealClass().getSimpleName()
 						.replaceAll("Test", ""), status,
 				Arrays.toString(tr.getMethod().getGroups()),
-				(tr.getEndMillis() - tr.getStartMillis()) + "ms");
+				(tr.getEndMillis() - tr.getStartMillis()) + "ms",
+				serverTime(tr));
+		logRetries(tr);
+	}
+
+	/*
+	 * Keeps the retries of the test for the end of the run, so flaky
+	 * requests stay visible even when the test passes.
+	 */
+	private void logRetries(ITestResult tr) {
+		List<WireTiming> timings = WireTimingRecorder.getTimings(tr);
+		StringBuffer retries = summary(tr).retries;
+		synchronized (timings) {
+			for (WireTiming timing : timings) {
+				if (!timing.getRetries().isEmpty()) {
+					retries.append(String.format("[RETRIED] %s.%s: %s %s after %s%n",
+							tr.getTestClass().getRealClass().getSimpleName(), tr.getName(),
+							timing.getMethod(), timing.getUri(), String.join(", ", timing.getRetries())));
+				}
+			}
+		}
+	}
+
+	/*
+	 * Time waiting for the responses of the test, out of its duration, for
+	 * the rate limits, and what the compressed bodies saved.
+	 */
+	private String serverTime(ITestResult tr) {
+		List<WireTiming> timings = WireTimingRecorder.getTimings(tr);
+		long nanos = 0;
+		long throttled = 0;
+		long wireBytes = 0;
+		long bodyBytes = 0;
+		int retried = 0;
+		synchronized (timings) {
+			if (timings.isEmpty()) {
+				return "";
+			}
+			for (WireTiming timing : timings) {
+				if (timing.getTimeToFirstByte() != WireTiming.UNKNOWN) {
+					nanos += timing.getTimeToFirstByte();
+				}
+				if (timing.getRateLimitWait() != WireTiming.UNKNOWN) {
+					throttled += timing.getRateLimitWait();
+				}
+				retried += timing.getRetries().size();
+				if (timing.getContentEncoding() != null
+						&& timing.getWireBytes() != WireTiming.UNKNOWN && timing.getBodyBytes() != WireTiming.UNKNOWN) {
+					wireBytes += timing.getWireBytes();
+					bodyBytes += timing.getBodyBytes();
+				}
+			}
+		}
+
+		String summary = String.format("%d requests, %dms waiting", timings.size(), TimeUnit.NANOSECONDS.toMillis(nanos));
+		if (TimeUnit.NANOSECONDS.toMillis(throttled) > 0) {
+			summary += String.format(", %dms throttled", TimeUnit.NANOSECONDS.toMillis(throttled));
+		}
+		if (bodyBytes > 0) {
+			summary += String.format(", %d of %d bytes compressed", wireBytes, bodyBytes);
+		}
+		if (retried > 0) {
+			summary += String.format(", %d retried", retried);
+		}
+		return "(" + summary + ")";
 	}
 }
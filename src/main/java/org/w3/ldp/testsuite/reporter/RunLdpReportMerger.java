@@ -0,0 +1,58 @@
+package org.w3.ldp.testsuite.reporter;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.OptionBuilder;
+import org.apache.commons.cli.Options;
+import org.w3.ldp.testsuite.LdpTestSuite;
+
+/**
+ * Merges the EARL reports of test suite runs, for instance of each
+ * {@code --shard}, without running the tests again.
+ *
+ * <pre>
+ * java -cp ldp-testsuite.jar org.w3.ldp.testsuite.reporter.RunLdpReportMerger \
+ *     --output merged shard1/report/ldp-testsuite-execution-report-earl.ttl \
+ *     shard2/report/ldp-testsuite-execution-report-earl.ttl
+ * </pre>
+ */
+public class RunLdpReportMerger {
+
+	private static Options options = new Options();
+
+	@SuppressWarnings("static-access")
+	public static void main(String[] args) {
+		options.addOption(OptionBuilder.withLongOpt("output")
+				.withDescription("output directory (current directory by default)")
+				.hasArg().withArgName("output").create());
+		options.addOption(OptionBuilder.withLongOpt("title")
+				.withDescription("report title (ldp-testsuite by default)")
+				.hasArg().withArgName("title").create());
+		options.addOption(OptionBuilder.withLongOpt("help")
+				.withDescription("prints this usage help").create());
+
+		CommandLine cmd = LdpTestSuite.getCommandLine(options, args);
+		if (cmd.getArgs().length == 0) {
+			System.err.println("ERROR: no EARL reports to merge");
+			System.exit(1);
+		}
+
+		LdpReportMerger merger = new LdpReportMerger();
+		if (cmd.hasOption("output")) {
+			merger.setOutputDirectory(cmd.getOptionValue("output") + File.separator + LdpTestSuite.OUTPUT_DIR);
+		}
+		if (cmd.hasOption("title")) {
+			merger.setTitle(cmd.getOptionValue("title"));
+		}
+
+		try {
+			merger.merge(Arrays.asList(cmd.getArgs()));
+		} catch (IOException e) {
+			e.printStackTrace(System.err);
+			System.exit(1);
+		}
+	}
+}
@@ -0,0 +1,83 @@
+package org.w3.ldp.testsuite.reporter;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.testng.annotations.Test;
+import org.w3.ldp.testsuite.test.BasicContainerTest;
+import org.w3.ldp.testsuite.test.DirectContainerTest;
+import org.w3.ldp.testsuite.test.IndirectContainerTest;
+import org.w3.ldp.testsuite.test.MemberResourceTest;
+import org.w3.ldp.testsuite.test.NonRDFSourceTest;
+import org.w3.ldp.testsuite.vocab.LDP;
+
+/**
+ * Maps the test case names of the EARL reports (see
+ * {@link AbstractEarlReporter#createTestCaseName(String, String)}) back to
+ * the test classes and methods they ran as.
+ */
+public class TestCaseIndex {
+
+	public static final List<Class<?>> TEST_CLASSES = Collections.unmodifiableList(Arrays.<Class<?>>asList(
+			BasicContainerTest.class, DirectContainerTest.class, IndirectContainerTest.class,
+			MemberResourceTest.class, NonRDFSourceTest.class));
+
+	private final Map<String, Class<?>> classes = new LinkedHashMap<>();
+	private final Map<String, Method> methods = new LinkedHashMap<>();
+
+	/**
+	 * Indexes the test classes of the LDP test suite.
+	 */
+	public TestCaseIndex() {
+		this(TEST_CLASSES);
+	}
+
+	public TestCaseIndex(Collection<Class<?>> testClasses) {
+		for (Class<?> testClass : testClasses) {
+			for (Method method : testClass.getMethods()) {
+				if (method.isAnnotationPresent(Test.class)) {
+					String name = AbstractEarlReporter.createTestCaseName(testClass.getName(), method.getName());
+					classes.put(name, testClass);
+					methods.put(name, method);
+				}
+			}
+		}
+	}
+
+	/**
+	 * @param testCase a test case name or URL
+	 * @return the test case name, without the test suite namespace
+	 */
+	public static String getTestCaseName(String testCase) {
+		if (testCase.startsWith(LDP.LDPT_NAMESPACE)) {
+			return testCase.substring(LDP.LDPT_NAMESPACE.length());
+		}
+		return testCase;
+	}
+
+	public Set<String> getTestCaseNames() {
+		return Collections.unmodifiableSet(methods.keySet());
+	}
+
+	/**
+	 * @param testCase a test case name or URL
+	 * @return the class the test case ran as, or null if unknown
+	 */
+	public Class<?> getTestClass(String testCase) {
+		return classes.get(getTestCaseName(testCase));
+	}
+
+	/**
+	 * @param testCase a test case name or URL
+	 * @return the test method, or null if unknown
+	 */
+	public Method getMethod(String testCase) {
+		return methods.get(getTestCaseName(testCase));
+	}
+}
@@ -91,6 +91,7 @@ public class BasicContainerTest extends CommonContainerTest {
 
 	@AfterSuite(alwaysRun = true)
 	public void commonTearDown() {
+		deleteCreatedResources();
 		if (httpLog != null) {
 			httpLog.println();
 			httpLog.flush();
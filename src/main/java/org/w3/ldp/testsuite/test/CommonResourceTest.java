@@ -1,9 +1,6 @@
 package org.w3.ldp.testsuite.test;
 
 import com.google.common.collect.ImmutableMap;
-import com.jayway.restassured.RestAssured;
-import com.jayway.restassured.response.Header;
-import com.jayway.restassured.response.Headers;
 import com.jayway.restassured.response.Response;
 import com.jayway.restassured.specification.RequestSpecification;
 import com.jayway.restassured.specification.ResponseSpecification;
@@ -20,15 +17,17 @@ import org.w3.ldp.testsuite.exception.SkipException;
 import org.w3.ldp.testsuite.exception.SkipMethodNotAllowedException;
 import org.w3.ldp.testsuite.exception.SkipNotTestableException;
 import org.w3.ldp.testsuite.http.HttpMethod;
+import org.w3.ldp.testsuite.http.ServerCapabilities;
+import org.w3.ldp.testsuite.http.WireTimingRecorder;
 import org.w3.ldp.testsuite.vocab.LDP;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.PrintStream;
+import java.io.PrintWriter;
 import java.net.URISyntaxException;
-import java.util.HashSet;
-import java.util.List;
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
-import java.util.Set;
 
 import static com.jayway.restassured.config.LogConfig.logConfig;
 import static org.hamcrest.Matchers.not;
@@ -45,7 +44,10 @@ import static org.w3.ldp.testsuite.matcher.HttpStatusSuccessMatcher.isSuccessful
  */
 public abstract class CommonResourceTest extends LdpTest {
 
-	private Set<String> options = new HashSet<String>();
+	/** Attribute of the test results holding their HTTP trace until they end */
+	private static final String HTTP_TRACE = "org.w3.ldp.testsuite.httpTrace";
+
+	private volatile ServerCapabilities capabilities;
 
 	protected Map<String,String> auth;
 
@@ -55,33 +57,39 @@ public abstract class CommonResourceTest extends LdpTest {
 	public void determineOptions() {
 		String uri = getResourceUri();
 		if (StringUtils.isNotBlank(uri)) {
-			// Use HTTP OPTIONS, which MUST be supported by LDP servers, to determine what methods are supported on this container.
-			Response optionsResponse = buildBaseRequestSpecification().options(uri);
-			Headers headers = optionsResponse.getHeaders();
-			List<Header> allowHeaders = headers.getList(ALLOW);
-			for (Header allowHeader : allowHeaders) {
-				String allow = allowHeader.getValue();
-				if (allow != null) {
-					String[] methods = allow.split("\\s*,\\s*");
-					for (String method : methods) {
-						options.add(method);
-					}
-				}
-			}
+			capabilities = getCapabilities(uri);
 		}
 	}
 
 	@AfterMethod(alwaysRun = true)
 	public void addFailureToHttpLog(ITestResult result) {
-		if (httpLog != null && result.getStatus() == ITestResult.FAILURE) {
-			// Add the failure details after the HTTP trace so it's clear what test it belongs to.
-			httpLog.println(">>> [FAILURE] Test: " + result.getName());
-			Throwable thrown = result.getThrowable();
-			if (thrown != null) {
-				httpLog.append(thrown.getLocalizedMessage());
-				httpLog.println();
+		final PrintWriter log = httpLog;
+		if (log == null) {
+			return;
+		}
+
+		final ByteArrayOutputStream trace = (ByteArrayOutputStream) result.getAttribute(HTTP_TRACE);
+		result.removeAttribute(HTTP_TRACE);
+		final boolean failed = result.getStatus() == ITestResult.FAILURE;
+		if (!failed && (trace == null || trace.size() == 0)) {
+			return;
+		}
+
+		// Add the HTTP trace of the test and the failure details after it so it's clear what test it belongs to.
+		// Hold the lock so entries from tests running in parallel don't interleave.
+		synchronized (log) {
+			if (trace != null) {
+				log.append(trace.toString(StandardCharsets.UTF_8));
+			}
+			if (failed) {
+				log.println(">>> [FAILURE] Test: " + result.getName());
+				Throwable thrown = result.getThrowable();
+				if (thrown != null) {
+					log.append(thrown.getLocalizedMessage());
+					log.println();
+				}
+				log.println();
 			}
-			httpLog.println();
 		}
 	}
 
@@ -99,23 +107,46 @@ public abstract class CommonResourceTest extends LdpTest {
 
 	@Override
 	protected RequestSpecification buildBaseRequestSpecification() {
-		RequestSpecification spec = RestAssured.given();
+		RequestSpecification spec = newRequestSpecification();
 		if (auth != null) {
 			spec.auth().preemptive().basic(auth.get("username"), auth.get("password"));
 		}
 
-		if (httpLog != null) {
-			spec.config(RestAssured
-					.config()
+		final PrintWriter log = httpLog;
+		if (log != null) {
+			spec.config(newConfig()
 					.logConfig(logConfig()
 							.enableLoggingOfRequestAndResponseIfValidationFails()
-							.defaultStream(new PrintStream(new WriterOutputStream(httpLog)))
+							.defaultStream(httpTraceStream(log))
 							.enablePrettyPrinting(true)));
 		}
 
 		return spec;
 	}
 
+	/*
+	 * The requests of a test are traced to a buffer of its own, added to the
+	 * log in one block when the test ends (see addFailureToHttpLog()), so the
+	 * traces of tests running in parallel don't interleave. Requests sent
+	 * outside a test are traced to the log directly.
+	 */
+	private static PrintStream httpTraceStream(PrintWriter log) {
+		final ITestResult owner = WireTimingRecorder.getOwner();
+		if (owner == null) {
+			return new PrintStream(new WriterOutputStream(log));
+		}
+
+		ByteArrayOutputStream trace;
+		synchronized (owner) {
+			trace = (ByteArrayOutputStream) owner.getAttribute(HTTP_TRACE);
+			if (trace == null) {
+				trace = new ByteArrayOutputStream();
+				owner.setAttribute(HTTP_TRACE, trace);
+			}
+		}
+		return new PrintStream(trace, true, StandardCharsets.UTF_8);
+	}
+
 	@Test(
 			groups = {MUST, MANUAL},
 			description = "LDP servers MUST at least be"
@@ -466,7 +497,8 @@ public abstract class CommonResourceTest extends LdpTest {
 	}
 
 	protected boolean supports(HttpMethod method) {
-		return options.contains(method.getName());
+		final ServerCapabilities resourceCapabilities = capabilities;
+		return resourceCapabilities != null && resourceCapabilities.supports(method);
 	}
 
 	protected void skipIfMethodNotAllowed(HttpMethod method) {
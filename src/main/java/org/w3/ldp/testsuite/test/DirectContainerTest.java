@@ -1,5 +1,7 @@
 package org.w3.ldp.testsuite.test;
 
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.Triple;
 import org.apache.jena.rdf.model.Model;
 import org.apache.jena.rdf.model.Resource;
 import com.jayway.restassured.response.Header;
@@ -17,12 +19,15 @@ import org.w3.ldp.testsuite.annotations.SpecTest.STATUS;
 import org.w3.ldp.testsuite.exception.SkipException;
 import org.w3.ldp.testsuite.http.HttpMethod;
 import org.w3.ldp.testsuite.mapper.RdfObjectMapper;
+import org.w3.ldp.testsuite.mapper.TripleExpectations;
+import org.w3.ldp.testsuite.mapper.TripleExpectations.Expectation;
 import org.w3.ldp.testsuite.matcher.HeaderMatchers;
 import org.w3.ldp.testsuite.vocab.LDP;
 
 import java.io.IOException;
 import java.net.URISyntaxException;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import static org.hamcrest.Matchers.notNullValue;
 import static org.testng.Assert.*;
@@ -195,7 +200,7 @@ public class DirectContainerTest extends CommonContainerTest {
 						.statusCode(isSuccessful())
 					.when()
 						.get(directContainer);
-			Model containerModel = getResponse.as(Model.class, new RdfObjectMapper(directContainer));
+			Model containerModel = getResponse.as(Model.class, readOnlyMapper(directContainer));
 			Resource container = containerModel.getResource(directContainer);
 			Resource membershipResource = container.getPropertyResourceValue(containerModel.createProperty(LDP.membershipResource.stringValue()));
 			Resource hasMemberRelation = container.getPropertyResourceValue(containerModel.createProperty(LDP.hasMemberRelation.stringValue()));
@@ -207,7 +212,7 @@ public class DirectContainerTest extends CommonContainerTest {
 			}
 		} finally {
 			// Delete the resource to clean up.
-			buildBaseRequestSpecification().delete(location);
+			deleteLater(location);
 		}
 	}
 
@@ -248,7 +253,7 @@ public class DirectContainerTest extends CommonContainerTest {
 					.statusCode(isSuccessful())
 				.when()
 					.get(directContainer);
-			Model containerModel = getResponse.as(Model.class, new RdfObjectMapper(directContainer));
+			Model containerModel = getResponse.as(Model.class, readOnlyMapper(directContainer));
 
 			Resource container = containerModel.getResource(directContainer);
 			Resource membershipResource = container.getPropertyResourceValue(containerModel.createProperty(LDP.membershipResource.stringValue()));
@@ -289,7 +294,7 @@ public class DirectContainerTest extends CommonContainerTest {
 					.statusCode(isSuccessful())
 				.when()
 					.get(directContainer);
-			containerModel = getResponse.as(Model.class, new RdfObjectMapper(directContainer));
+			containerModel = getResponse.as(Model.class, readOnlyMapper(directContainer));
 			membershipResource = containerModel.getResource(membershipResource.getURI());
 
 			// Now verify the membership triples DON"T exist
@@ -305,7 +310,7 @@ public class DirectContainerTest extends CommonContainerTest {
 		} finally {
 			// If an assertion failed before we could delete the resource, clean up now.
 			if (!deleted) {
-				buildBaseRequestSpecification().delete(location);
+				deleteLater(location);
 			}
 		}
 	}
@@ -325,20 +330,32 @@ public class DirectContainerTest extends CommonContainerTest {
 		throw new org.testng.SkipException("Covered indirectly by the MUST tests defined in CommonContainerTest class");
 	}
 
-	private boolean hasMembershipTriples(Model containerModel) {
-		Resource container = containerModel.getResource(directContainer);
-		Resource membershipResource = container.getPropertyResourceValue(containerModel.createProperty(LDP.membershipResource.stringValue()));
-		Resource hasMemberRelation = container.getPropertyResourceValue(containerModel.createProperty(LDP.hasMemberRelation.stringValue()));
-		assertNotNull(membershipResource, MSG_MBRRES_NOTFOUND);
-
-		// First verify the membership triples exist
-		if (hasMemberRelation != null) {
-			return membershipResource.hasProperty(containerModel.createProperty(hasMemberRelation.getURI()));
+	/*
+	 * The membership triples of the container, from its membership resource
+	 * and relation in a representation of it.
+	 */
+	private Triple getMembershipPattern(Response response) {
+		TripleExpectations expectations = new TripleExpectations(directContainer);
+		Expectation membershipResource = expectations.firstMatch(directContainer, LDP.membershipResource.stringValue(), null);
+		Expectation hasMemberRelation = expectations.firstMatch(directContainer, LDP.hasMemberRelation.stringValue(), null);
+		Expectation isMemberOfRelation = expectations.firstMatch(directContainer, LDP.isMemberOfRelation.stringValue(), null);
+		expectations.check(response);
+		assertNotNull(membershipResource.getMatch(), MSG_MBRRES_NOTFOUND);
+
+		Node resource = membershipResource.getMatch().getObject();
+		if (hasMemberRelation.isMet()) {
+			return Triple.createMatch(resource, hasMemberRelation.getMatch().getObject(), null);
 		}
 
 		// Not if membership triple is not of form: (container, membership predicate, member), it may be the inverse.
-		Resource isMemberOfRelation = container.getPropertyResourceValue(containerModel.createProperty(LDP.isMemberOfRelation.stringValue()));
-		return containerModel.contains(null, containerModel.createProperty(isMemberOfRelation.getURI()), membershipResource);
+		return Triple.createMatch(null, isMemberOfRelation.getMatch().getObject(), resource);
+	}
+
+	private boolean hasMembershipTriples(Response response, Triple membership) {
+		TripleExpectations expectations = new TripleExpectations(directContainer);
+		Expectation triples = expectations.contains(membership.getSubject(), membership.getPredicate(), membership.getObject());
+		expectations.check(response);
+		return triples.isMet();
 	}
 
 	@Test(
@@ -355,62 +372,73 @@ public class DirectContainerTest extends CommonContainerTest {
 			comment = "Covers only part of the specification requirement. ")
 	public void testPreferMembershipTriples() {
 		Response response;
-		Model model;
 
 		// Ask for membership triples.
-		response = buildBaseRequestSpecification()
+		CompletableFuture<Response> membership = async(() -> buildBaseRequestSpecification()
 					.header(ACCEPT, TEXT_TURTLE)
 					.header(PREFER, include(PREFER_MEMBERSHIP)) // request all membership triples
 				.expect()
 					.statusCode(isSuccessful())
 				.when()
-					.get(directContainer);
-		model = response.as(Model.class, new RdfObjectMapper(directContainer));
-
-		// Assumes the container is not empty.
-		checkPreferenceAppliedHeader(response);
-		assertTrue(hasMembershipTriples(model), "Container does not have membership triples");
+					.get(directContainer));
 
 		// Ask for a minimal container.
-		response = buildBaseRequestSpecification()
+		CompletableFuture<Response> minimal = async(() -> buildBaseRequestSpecification()
 					.header(ACCEPT, TEXT_TURTLE)
 					.header(PREFER, include(PREFER_MINIMAL_CONTAINER)) // request no membership triples
 				.expect()
 					.statusCode(isSuccessful())
 				.when()
-					.get(directContainer);
-		model = response.as(Model.class, new RdfObjectMapper(directContainer));
-
-		checkPreferenceAppliedHeader(response);
-		assertFalse(hasMembershipTriples(model), "Container has membership triples when minimal container was requested");
+					.get(directContainer));
 
 		// Ask to omit membership.
-		response = buildBaseRequestSpecification()
+		CompletableFuture<Response> omitted = async(() -> buildBaseRequestSpecification()
 					.header(ACCEPT, TEXT_TURTLE)
 					.header(PREFER, omit(PREFER_MEMBERSHIP)) // request no membership triples
 				.expect()
 					.statusCode(isSuccessful())
 				.when()
-					.get(directContainer);
-		model = response.as(Model.class, new RdfObjectMapper(directContainer));
-
-		checkPreferenceAppliedHeader(response);
-		assertFalse(hasMembershipTriples(model), "Container has membership triples when client requested server omit them");
+					.get(directContainer));
 
 		// Ask for a minimal container, but include membership. (Example from spec.)
-		response = buildBaseRequestSpecification()
+		CompletableFuture<Response> minimalWithMembership = async(() -> buildBaseRequestSpecification()
 					.header(ACCEPT, TEXT_TURTLE)
 					.header(PREFER, include(PREFER_MINIMAL_CONTAINER, PREFER_MEMBERSHIP))
 				.expect()
 					.statusCode(isSuccessful())
 				.when()
-					.get(directContainer);
-		model = response.as(Model.class, new RdfObjectMapper(directContainer));
+					.get(directContainer));
+
+		// The minimal container keeps the membership resource and relation.
+		Triple membershipTriples = getMembershipPattern(await(minimal));
+
+		response = await(membership);
+
+		// Assumes the container is not empty.
+		checkPreferenceAppliedHeader(response);
+		assertTrue(hasMembershipTriples(response, membershipTriples), "Container does not have membership triples");
+
+		response = await(minimal);
+
+		checkPreferenceAppliedHeader(response);
+		assertFalse(hasMembershipTriples(response, membershipTriples), "Container has membership triples when minimal container was requested");
+
+		response = await(omitted);
+
+		checkPreferenceAppliedHeader(response);
+		assertFalse(hasMembershipTriples(response, membershipTriples), "Container has membership triples when client requested server omit them");
+
+		response = await(minimalWithMembership);
+		TripleExpectations expectations = new TripleExpectations(directContainer);
+		Expectation membershipTriple = expectations.contains(membershipTriples.getSubject(),
+				membershipTriples.getPredicate(), membershipTriples.getObject());
+		Expectation containmentTriple = expectations.contains(directContainer, LDP.contains.stringValue(), null);
+		expectations.check(response);
 
 		// Assumes the container is not empty.
 		checkPreferenceAppliedHeader(response);
-		assertTrue(hasMembershipTriples(model), "Container does not have membership triples");
-		assertFalse(model.contains(model.getResource(directContainer), model.createProperty(LDP.contains.stringValue())),
+		assertTrue(membershipTriple.isMet(), "Container does not have membership triples");
+		assertFalse(containmentTriple.isMet(),
 				"Container has containment triples when minimal container was requested");
 	}
 
@@ -421,6 +449,7 @@ public class DirectContainerTest extends CommonContainerTest {
 
 	@AfterSuite(alwaysRun = true)
 	public void commonTearDown() {
+		deleteCreatedResources();
 		if (httpLog != null) {
 			httpLog.println();
 			httpLog.flush();
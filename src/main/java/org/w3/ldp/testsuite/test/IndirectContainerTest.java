@@ -129,7 +129,7 @@ public class IndirectContainerTest extends CommonContainerTest {
 					.statusCode(HttpStatus.SC_OK)
 				.when()
 					.get(indirectContainer);
-		Model containerModel = getResponse.as(Model.class, new RdfObjectMapper(indirectContainer));
+		Model containerModel = getResponse.as(Model.class, readOnlyMapper(indirectContainer));
 		Resource container = containerModel.getResource(indirectContainer);
 		Property insertedContentRelation = ResourceFactory.createProperty(LDP.insertedContentRelation.stringValue());
 		
@@ -199,7 +199,7 @@ public class IndirectContainerTest extends CommonContainerTest {
 				.header(PREFER, include(LdpPreferences.PREFER_CONTAINMENT))
 				.when()
 					.get(indirectContainer);
-		Model containerModel = getResponse.as(Model.class, new RdfObjectMapper(indirectContainer));
+		Model containerModel = getResponse.as(Model.class, readOnlyMapper(indirectContainer));
 		Resource container = containerModel.getResource(indirectContainer);
 		Property contains = ResourceFactory.createProperty(LDP.contains.stringValue());
 		
@@ -220,7 +220,7 @@ public class IndirectContainerTest extends CommonContainerTest {
 				.when()
 					.get(indirectContainer);
 		
-		Model containerModel = getResponse.as(Model.class, new RdfObjectMapper(indirectContainer));
+		Model containerModel = getResponse.as(Model.class, readOnlyMapper(indirectContainer));
 		Resource container = containerModel.getResource(indirectContainer);
 		Property insertedContentRelation = containerModel.getProperty(LDP.insertedContentRelation.stringValue());
 		
@@ -253,6 +253,7 @@ public class IndirectContainerTest extends CommonContainerTest {
 
 	@AfterSuite(alwaysRun = true)
 	public void commonTearDown() {
+		deleteCreatedResources();
 		if (httpLog != null) {
 			httpLog.println();
 			httpLog.flush();
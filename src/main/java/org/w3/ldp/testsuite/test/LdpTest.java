@@ -7,18 +7,43 @@ import org.apache.jena.rdf.model.Resource;
 import org.apache.jena.util.ResourceUtils;
 import org.apache.jena.vocabulary.DCTerms;
 import org.apache.jena.vocabulary.RDF;
+import com.jayway.restassured.RestAssured;
+import com.jayway.restassured.config.DecoderConfig;
+import com.jayway.restassured.config.RestAssuredConfig;
 import com.jayway.restassured.response.Header;
 import com.jayway.restassured.response.Response;
 import com.jayway.restassured.specification.RequestSpecification;
 
 import org.apache.commons.lang3.StringUtils;
+import org.apache.http.HttpStatus;
 import org.apache.marmotta.commons.vocabulary.LDP;
 import org.jboss.resteasy.plugins.delegates.LinkDelegate;
+import org.testng.ITestResult;
+import org.testng.annotations.AfterSuite;
 import org.testng.annotations.BeforeSuite;
 import org.testng.annotations.Optional;
 import org.testng.annotations.Parameters;
 import org.w3.ldp.testsuite.LdpTestSuite;
+import org.w3.ldp.testsuite.http.CacheInvalidationFilter;
+import org.w3.ldp.testsuite.http.CapabilityRegistry;
+import org.w3.ldp.testsuite.http.CircuitBreakerFilter;
+import org.w3.ldp.testsuite.http.CleanupQueue;
+import org.w3.ldp.testsuite.http.ContentEncodings;
+import org.w3.ldp.testsuite.http.HttpTransport;
+import org.w3.ldp.testsuite.http.ModelCache;
+import org.w3.ldp.testsuite.http.PooledHttpClientFactory;
+import org.w3.ldp.testsuite.http.RateLimitFilter;
+import org.w3.ldp.testsuite.http.ReleaseConnectionFilter;
+import org.w3.ldp.testsuite.http.RetryFilter;
+import org.w3.ldp.testsuite.http.RetryPolicy;
+import org.w3.ldp.testsuite.http.ServerCapabilities;
+import org.w3.ldp.testsuite.http.TransportFilter;
+import org.w3.ldp.testsuite.http.WireTimingFilter;
+import org.w3.ldp.testsuite.http.WireTimingRecorder;
+import org.w3.ldp.testsuite.mapper.GraphType;
 import org.w3.ldp.testsuite.mapper.RdfObjectMapper;
+import org.w3.ldp.testsuite.util.RDFModelUtils;
+import org.w3.ldp.testsuite.util.VirtualThreads;
 
 import javax.ws.rs.core.Link;
 
@@ -28,8 +53,21 @@ import java.net.URISyntaxException;
 import java.text.DateFormat;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.LinkedHashSet;
 import java.util.List;
-
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static com.jayway.restassured.config.HttpClientConfig.httpClientConfig;
+import static org.hamcrest.Matchers.anyOf;
+import static org.hamcrest.Matchers.equalTo;
 import static org.testng.Assert.assertTrue;
 import static org.w3.ldp.testsuite.http.HttpHeaders.*;
 import static org.w3.ldp.testsuite.http.LdpPreferences.PREFERENCE_INCLUDE;
@@ -48,26 +86,96 @@ public abstract class LdpTest {
 
 	/*
 	 * The following properties are marked static because commonSetup() is only called
-	 * one time, even if several test classes inherit from LdpTest.
+	 * one time, even if several test classes inherit from LdpTest. They are volatile
+	 * since test methods might run on several threads (see the --threads option).
 	 */
 
 	/**
-	 * Alternate content to use on POST requests
+	 * Alternate content to use on POST requests, frozen. Never handed out
+	 * directly, see {@link #postContent()}.
 	 */
-	private static Model postModel;
+	private static volatile Model postModel;
 
 	/**
 	 * For HTTP details on validation failures
 	 */
-	protected static PrintWriter httpLog;
+	protected static volatile PrintWriter httpLog;
 
 	/**
 	 * For skipped test logging
 	 */
-	protected static PrintWriter skipLog;
+	protected static volatile PrintWriter skipLog;
+
+	/**
+	 * Skips the remaining tests of a server when it is down (see --fail-fast)
+	 */
+	private static volatile CircuitBreakerFilter circuitBreaker;
+
+	/**
+	 * Keep-alive connections shared by all the requests
+	 */
+	private static volatile PooledHttpClientFactory httpClientFactory;
+
+	private static final ReleaseConnectionFilter RELEASE_CONNECTION_FILTER = new ReleaseConnectionFilter();
+
+	private static final WireTimingFilter WIRE_TIMING_FILTER = new WireTimingFilter();
+
+	/**
+	 * Sends the requests instead of RestAssured (see --transport), null for RestAssured
+	 */
+	private static volatile TransportFilter transport;
+
+	/**
+	 * Caps the load on the server (see --max-rps and --max-in-flight), null without limits
+	 */
+	private static volatile RateLimitFilter rateLimit;
 
 	/**
-	 * Builds a model from a turtle representation in a file
+	 * Sends the requests again after transient failures (see --retries)
+	 */
+	private static volatile RetryFilter retryFilter;
+
+	/**
+	 * The content codings to ask for (see --compression), null for RestAssured's
+	 */
+	private static volatile DecoderConfig decoderConfig;
+
+	/**
+	 * The graph of the representations the tests only read (see --graph)
+	 */
+	private static volatile GraphType readOnlyGraph = GraphType.MUTABLE;
+
+	/**
+	 * Parsed representations revalidated with their ETag (see --cache), null to not cache
+	 */
+	private static volatile ModelCache modelCache;
+
+	private static volatile CacheInvalidationFilter cacheInvalidation;
+
+	/**
+	 * What the server advertises for each resource, probed once per run
+	 */
+	private static volatile CapabilityRegistry capabilityRegistry;
+
+	/**
+	 * Where the capabilities are kept between runs (see --capabilities), or null
+	 */
+	private static volatile File capabilityFile;
+
+	/**
+	 * Deletes the resources created by the tests in the background, null once
+	 * drained at the end of the suite
+	 */
+	private static volatile CleanupQueue cleanupQueue;
+
+	/**
+	 * Sends the requests started with {@link #async(Supplier)}
+	 */
+	private static final ExecutorService asyncRequests = newAsyncRequestExecutor();
+
+	/**
+	 * Builds a model from a turtle representation in a file. With
+	 * {@code --graph compact}, the model is frozen, copy it to change it.
 	 * @param path the path
 	 * @return the model
 	 */
@@ -97,6 +205,7 @@ public abstract class LdpTest {
 			} catch (IOException e) {
 				e.printStackTrace();
 			}
+			model = readOnlyGraph.freeze(model);
 		}
 		return model;
 	}
@@ -110,18 +219,43 @@ public abstract class LdpTest {
 	 * @param postTtl the resource with Turtle content to use for POST requests
 	 * @param httpLogging whether to log HTTP request and response details on errors
 	 * @param skipLogging whether to skip logging
+	 * @param failFast whether to skip the remaining tests when the server is unavailable
+	 * @param probeInterval seconds before checking if an unavailable server is back
+	 * @param maxConnections pooled connections per server
+	 * @param idleTimeout seconds before closing an unused pooled connection
+	 * @param keepAlive seconds to keep a connection when the server doesn't say
+	 * @param transportName the HTTP transport, see {@link HttpTransport#create(String, String)}
+	 * @param httpVersion the HTTP version of the transport
+	 * @param cache whether to cache the representations read with {@link #getResourceAsModel(String, String)}
+	 * @param capabilities the file keeping the server capabilities between runs
+	 * @param compression the content codings to ask for, see {@link ContentEncodings#parse(String)}
+	 * @param retries times to send a request again after a transient failure
+	 * @param maxRps requests per second to each server
+	 * @param maxInFlight requests in progress at once to each server
+	 * @param graph the graph of the representations the tests only read, see {@link GraphType#parse(String)}
 	 * @throws IOException if an I/O exception occurs during setup
 	 */
 	@BeforeSuite(alwaysRun = true)
-	@Parameters({"output", "postTtl", "httpLogging", "skipLogging"})
-	public void commonSetup(@Optional String outputDir, @Optional String postTtl, @Optional String httpLogging, @Optional String skipLogging) throws IOException {
+	@Parameters({"output", "postTtl", "httpLogging", "skipLogging", "failFast", "probeInterval",
+			"maxConnections", "idleTimeout", "keepAlive", "transport", "httpVersion", "cache", "capabilities", "compression", "retries",
+			"maxRps", "maxInFlight", "graph"})
+	public void commonSetup(@Optional String outputDir, @Optional String postTtl, @Optional String httpLogging, @Optional String skipLogging,
+			@Optional String failFast, @Optional String probeInterval,
+			@Optional String maxConnections, @Optional String idleTimeout, @Optional String keepAlive,
+			@Optional String transportName, @Optional String httpVersion, @Optional String cache,
+			@Optional String capabilities, @Optional String compression,
+			@Optional String retries, @Optional String maxRps, @Optional String maxInFlight,
+			@Optional String graph) throws IOException {
 
 		/*
 		 * Note: This method is only called one time, even if many classes inherit
 		 * from LdpTest. Don't set non-static members here.
 		 */
 
-		postModel = readModel(postTtl);
+		readOnlyGraph = graph != null ? GraphType.parse(graph) : GraphType.MUTABLE;
+		// frozen, each test changes its own overlay (see postContent())
+		final Model template = readModel(postTtl);
+		postModel = template != null ? GraphType.COMPACT.freeze(template) : null;
 
 		if (outputDir == null || outputDir.length() == 0)
 			outputDir = LdpTestSuite.OUTPUT_DIR;
@@ -129,6 +263,10 @@ public abstract class LdpTest {
 		File dir = new File(outputDir);
 		dir.mkdirs();
 
+		// the logs of a previous run in the same JVM are closed (see --daemon)
+		httpLog = null;
+		skipLog = null;
+
 		if ("true".equals(httpLogging)) {
 			File file = new File(dir, HTTP_LOG_FILENAME);
 			try {
@@ -153,6 +291,231 @@ public abstract class LdpTest {
 			}
 		}
 
+		if ("true".equals(failFast)) {
+			long probeIntervalMillis = probeInterval != null ? Long.parseLong(probeInterval) * 1000 : 0;
+			circuitBreaker = new CircuitBreakerFilter(probeIntervalMillis);
+			circuitBreaker.setSkipLog(skipLog);
+		} else {
+			circuitBreaker = null;
+		}
+
+		// replaces the pool of a previous run in the same JVM (see --daemon)
+		final PooledHttpClientFactory previous = httpClientFactory;
+		httpClientFactory = new PooledHttpClientFactory(
+				maxConnections != null ? Integer.parseInt(maxConnections) : PooledHttpClientFactory.DEFAULT_MAX_CONNECTIONS_PER_ROUTE,
+				idleTimeout != null ? Long.parseLong(idleTimeout) : PooledHttpClientFactory.DEFAULT_IDLE_TIMEOUT_SECONDS,
+				keepAlive != null ? Long.parseLong(keepAlive) : PooledHttpClientFactory.DEFAULT_KEEP_ALIVE_SECONDS);
+		if (previous != null) {
+			previous.shutdown();
+		}
+
+		final TransportFilter previousTransport = transport;
+		if (transportName == null || HttpTransport.REST_ASSURED.equalsIgnoreCase(transportName)) {
+			transport = null;
+		} else {
+			transport = new TransportFilter(HttpTransport.create(transportName, httpVersion));
+		}
+		if (previousTransport != null) {
+			previousTransport.getTransport().close();
+		}
+
+		retryFilter = new RetryFilter(new RetryPolicy(
+				retries != null ? Integer.parseInt(retries) : RetryPolicy.DEFAULT_RETRIES));
+
+		if (maxRps != null || maxInFlight != null) {
+			rateLimit = new RateLimitFilter(maxRps != null ? Double.parseDouble(maxRps) : 0,
+					maxInFlight != null ? Integer.parseInt(maxInFlight) : 0);
+		} else {
+			rateLimit = null;
+		}
+
+		decoderConfig = compression != null ? ContentEncodings.parse(compression) : null;
+
+		if ("true".equals(cache)) {
+			modelCache = new ModelCache();
+			cacheInvalidation = new CacheInvalidationFilter(modelCache);
+		} else {
+			modelCache = null;
+			cacheInvalidation = null;
+		}
+
+		final CapabilityRegistry registry = new CapabilityRegistry();
+		if (StringUtils.isNotBlank(capabilities)) {
+			capabilityFile = new File(capabilities);
+			try {
+				registry.load(capabilityFile);
+			} catch (IOException | IllegalArgumentException e) {
+				System.err.println(String.format("WARNING: Error reading the server capabilities from %s, probing them again", capabilities));
+				e.printStackTrace();
+			}
+		} else {
+			capabilityFile = null;
+		}
+		capabilityRegistry = registry;
+
+		cleanupQueue = new CleanupQueue(asyncRequests, CleanupQueue.DEFAULT_ATTEMPTS);
+	}
+
+	/**
+	 * Waits for the background deletions and reports the resources left
+	 * behind, once. The teardowns closing the logs call it first, since the
+	 * {@code @AfterSuite} methods run in no set order.
+	 */
+	@AfterSuite(alwaysRun = true)
+	public void deleteCreatedResources() {
+		final CleanupQueue queue;
+		synchronized (LdpTest.class) {
+			queue = cleanupQueue;
+			cleanupQueue = null;
+		}
+		if (queue == null) {
+			return;
+		}
+
+		final Map<String, String> leaked = queue.drain();
+		if (!leaked.isEmpty()) {
+			System.err.println(String.format("WARNING: %d resources created by the tests could not be deleted:", leaked.size()));
+			for (Map.Entry<String, String> resource : leaked.entrySet()) {
+				System.err.println(String.format("\t%s (%s)", resource.getKey(), resource.getValue()));
+			}
+		}
+	}
+
+	@AfterSuite(alwaysRun = true)
+	public void saveCapabilities() {
+		final CapabilityRegistry registry = capabilityRegistry;
+		final File file = capabilityFile;
+		if (registry != null && file != null && registry.isModified()) {
+			try {
+				registry.save(file);
+			} catch (IOException e) {
+				System.err.println(String.format("WARNING: Error writing the server capabilities to %s", file));
+				e.printStackTrace();
+			}
+		}
+	}
+
+	/**
+	 * The RestAssured configuration shared by all the tests. Start from here
+	 * rather than {@link RestAssured#config()} when changing the
+	 * configuration of a request, so it keeps using the pooled connections.
+	 *
+	 * @return the configuration
+	 */
+	protected static RestAssuredConfig newConfig() {
+		RestAssuredConfig config = RestAssured.config();
+		final PooledHttpClientFactory factory = httpClientFactory;
+		if (factory != null) {
+			config = config.httpClient(httpClientConfig().httpClientFactory(factory));
+		}
+		final DecoderConfig decoders = decoderConfig;
+		if (decoders != null) {
+			config = config.decoderConfig(decoders);
+		}
+
+		return config;
+	}
+
+	/**
+	 * Starts a request specification with the filters shared by all the
+	 * tests. Implementations of {@link #buildBaseRequestSpecification()}
+	 * should start from here.
+	 *
+	 * @return a new request specification
+	 */
+	protected static RequestSpecification newRequestSpecification() {
+		RequestSpecification spec = RestAssured.given().config(newConfig());
+		spec.filter(WIRE_TIMING_FILTER); // first, it times the whole exchange
+		final RateLimitFilter limit = rateLimit;
+		if (limit != null) {
+			spec.filter(limit); // above the body read, which keeps the request in flight
+		}
+		if (httpClientFactory != null) {
+			spec.filter(RELEASE_CONNECTION_FILTER);
+		}
+		final CacheInvalidationFilter invalidation = cacheInvalidation;
+		if (invalidation != null) {
+			spec.filter(invalidation);
+		}
+		final CircuitBreakerFilter breaker = circuitBreaker;
+		if (breaker != null) {
+			spec.filter(breaker);
+		}
+		final RetryFilter retry = retryFilter;
+		if (retry != null) {
+			spec.filter(retry); // below the circuit breaker, which sees the last attempt
+		}
+		final TransportFilter transportFilter = transport;
+		if (transportFilter != null) {
+			spec.filter(transportFilter); // last, it sends the request
+		}
+
+		return spec;
+	}
+
+	/**
+	 * Starts a request that doesn't depend on the others of the test, so a
+	 * test waits for one round-trip rather than one per request. Start all of
+	 * them, then get each response with {@link #await(CompletableFuture)} and
+	 * check it as usual, in the same order as before.
+	 *
+	 * <pre>
+	 * CompletableFuture&lt;Response&gt; turtle = async(() -&gt; buildBaseRequestSpecification()
+	 * 		.header(ACCEPT, TEXT_TURTLE).get(uri));
+	 * CompletableFuture&lt;Response&gt; jsonLd = async(() -&gt; buildBaseRequestSpecification()
+	 * 		.header(ACCEPT, "application/ld+json").get(uri));
+	 * checkTurtle(await(turtle));
+	 * checkJsonLd(await(jsonLd));
+	 * </pre>
+	 *
+	 * @param request sends the request and optionally reads the response
+	 * @return the result of the request
+	 */
+	protected static <T> CompletableFuture<T> async(Supplier<T> request) {
+		final ITestResult owner = WireTimingRecorder.getOwner();
+		return CompletableFuture.supplyAsync(() -> {
+			WireTimingRecorder.setOwner(owner);
+			try {
+				return request.get();
+			} finally {
+				WireTimingRecorder.setOwner(null);
+			}
+		}, asyncRequests);
+	}
+
+	/**
+	 * Waits for a request started with {@link #async(Supplier)}. Failed
+	 * expectations and skips are thrown as if the request was sent
+	 * synchronously.
+	 *
+	 * @param future the request
+	 * @return its result
+	 */
+	protected static <T> T await(CompletableFuture<T> future) {
+		try {
+			return future.join();
+		} catch (CompletionException e) {
+			final Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			} else if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw e;
+		}
+	}
+
+	private static ExecutorService newAsyncRequestExecutor() {
+		ThreadFactory factory = VirtualThreads.newThreadFactory("ldp-testsuite-request-");
+		if (factory == null) {
+			final AtomicInteger count = new AtomicInteger();
+			factory = runnable -> {
+				Thread thread = new Thread(runnable, "ldp-testsuite-request-" + count.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			};
+		}
+		return Executors.newCachedThreadPool(factory);
 	}
 
 	/**
@@ -194,17 +557,132 @@ public abstract class LdpTest {
 	 */
 	protected abstract RequestSpecification buildBaseRequestSpecification();
 
+	/**
+	 * A mapper for the responses a test only reads, parsed into the graph
+	 * chosen with --graph. Use {@code new RdfObjectMapper(baseURI)} for a
+	 * model the test changes.
+	 *
+	 * @param baseURI the base URI of the relative URIs
+	 * @return the mapper
+	 */
+	protected static RdfObjectMapper readOnlyMapper(String baseURI) {
+		return new RdfObjectMapper(baseURI, readOnlyGraph);
+	}
+
 	public Model getAsModel(String uri) {
 		return getResourceAsModel(uri, TEXT_TURTLE);
 	}
 
+	/**
+	 * Gets a representation of a resource. With {@code --cache}, the model
+	 * is shared with the other tests, and with {@code --graph compact} it's
+	 * frozen, don't modify it.
+	 *
+	 * @param uri the resource URI
+	 * @param mediaType the media type to ask for
+	 * @return the parsed representation
+	 */
 	public Model getResourceAsModel(String uri, String mediaType) {
-		return buildBaseRequestSpecification()
-				.header(ACCEPT, mediaType)
+		final ModelCache cache = modelCache;
+		if (cache == null) {
+			return buildBaseRequestSpecification()
+					.header(ACCEPT, mediaType)
+				.expect()
+					.statusCode(isSuccessful())
+				.when()
+					.get(uri).as(Model.class, readOnlyMapper(uri));
+		}
+
+		final ModelCache.Entry cached = cache.get(uri, mediaType, null);
+		final RequestSpecification spec = buildBaseRequestSpecification().header(ACCEPT, mediaType);
+		if (cached != null) {
+			spec.header(IF_NONE_MATCH, cached.getEntityTag());
+		}
+		final Response response = spec
 			.expect()
-				.statusCode(isSuccessful())
+				.statusCode(cached != null ? anyOf(isSuccessful(), equalTo(HttpStatus.SC_NOT_MODIFIED)) : isSuccessful())
 			.when()
-				.get(uri).as(Model.class, new RdfObjectMapper(uri));
+				.get(uri);
+		if (cached != null && response.getStatusCode() == HttpStatus.SC_NOT_MODIFIED) {
+			return cached.getModel();
+		}
+
+		final Model model = response.as(Model.class, readOnlyMapper(uri));
+		final String entityTag = response.getHeader(ETAG);
+		if (entityTag == null) {
+			cache.invalidate(uri);
+			return model;
+		}
+		return cache.put(uri, mediaType, null, entityTag, model).getModel();
+	}
+
+	/**
+	 * Deletes a resource created by the test once the test doesn't need it.
+	 * The deletion happens in the background, use a DELETE request when
+	 * the test checks what it does. Its capabilities aren't kept for the
+	 * next run (see --capabilities).
+	 *
+	 * @param uri the resource URI, nothing is deleted if it's blank
+	 */
+	protected void deleteLater(String uri) {
+		if (StringUtils.isBlank(uri)) {
+			return;
+		}
+
+		final CapabilityRegistry registry = capabilityRegistry;
+		if (registry != null) {
+			registry.forget(uri);
+		}
+
+		final CleanupQueue queue = cleanupQueue;
+		if (queue != null) {
+			queue.delete(uri, this::buildBaseRequestSpecification);
+		} else {
+			buildBaseRequestSpecification().delete(uri);
+		}
+	}
+
+	/**
+	 * Gets what the server advertises for a resource. The first call for a
+	 * URI in a run sends an OPTIONS request, later calls reuse the result.
+	 *
+	 * @param uri the resource URI
+	 * @return the capabilities
+	 */
+	protected ServerCapabilities getCapabilities(String uri) {
+		final CapabilityRegistry registry = capabilityRegistry;
+		return registry != null ? registry.get(uri, this::probeCapabilities) : probeCapabilities(uri);
+	}
+
+	private ServerCapabilities probeCapabilities(String uri) {
+		// Use HTTP OPTIONS, which MUST be supported by LDP servers, to determine what methods are supported on this resource.
+		final Response options = buildBaseRequestSpecification().options(uri);
+		final List<String> allow = getHeaderValues(options, ALLOW);
+
+		final Set<String> interactionModels = new LinkedHashSet<>();
+		for (Header linkHeader : options.getHeaders().getList(LINK)) {
+			for (String s : splitLinks(linkHeader)) {
+				Link l = new LinkDelegate().fromString(s);
+				if (LINK_REL_TYPE.equals(l.getRel()) && linkMatchesContext(uri, uri, l)) {
+					interactionModels.add(resolveIfRelative(uri, l.getUri()));
+				}
+			}
+		}
+
+		return new ServerCapabilities(allow, getHeaderValues(options, ACCEPT_POST),
+				getHeaderValues(options, ACCEPT_PATCH), interactionModels);
+	}
+
+	private static List<String> getHeaderValues(Response response, String name) {
+		final List<String> values = new ArrayList<>();
+		for (Header header : response.getHeaders().getList(name)) {
+			if (StringUtils.isNotBlank(header.getValue())) {
+				for (String value : header.getValue().trim().split("\\s*,\\s*")) {
+					values.add(value);
+				}
+			}
+		}
+		return values;
 	}
 
 	protected Model getDefaultModel() {
@@ -241,8 +719,21 @@ public abstract class LdpTest {
 		}
 	}
 
+	/**
+	 * Gets the content to use on POST requests. Tests are free to modify the
+	 * returned model, it is never shared with other tests. It's an overlay of
+	 * the --postTtl template rather than a copy, only the changes of the test
+	 * are stored.
+	 *
+	 * @return a new model with the POST content
+	 */
 	protected Model postContent() {
-		return postModel != null? postModel : getDefaultModel();
+		final Model template = postModel;
+		if (template == null) {
+			return getDefaultModel();
+		}
+
+		return RDFModelUtils.overlay(template);
 	}
 
 	/**
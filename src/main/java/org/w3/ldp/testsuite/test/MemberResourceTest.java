@@ -4,7 +4,8 @@ import org.apache.jena.rdf.model.Model;
 import com.jayway.restassured.response.Response;
 import org.apache.http.HttpStatus;
 import org.testng.annotations.AfterSuite;
-import org.testng.annotations.BeforeSuite;
+import org.testng.annotations.AfterTest;
+import org.testng.annotations.BeforeTest;
 import org.testng.annotations.Optional;
 import org.testng.annotations.Parameters;
 import org.w3.ldp.testsuite.exception.SkipException;
@@ -31,9 +32,10 @@ public class MemberResourceTest extends RdfSourceTest {
 
 	/*
 	 * Creates a resource to test if there's no memberResource test parameter.
+	 * Runs once per test so each target server gets its own resource.
 	 */
 	@Parameters({"memberResource", "directContainer", "indirectContainer", "basicContainer", "memberTtl"})
-	@BeforeSuite(alwaysRun = true)
+	@BeforeTest(alwaysRun = true)
 	public void createTestResource(@Optional String memberResource, @Optional String directContainer,
 			@Optional String indirectContainer, @Optional String basicContainer,
 			@Optional String memberTtl) {
@@ -96,12 +98,17 @@ public class MemberResourceTest extends RdfSourceTest {
 	 * Deletes the test resource to clean up if it's wasn't provided using the
 	 * memberResource test parameter.
 	 */
-	@AfterSuite(alwaysRun = true)
+	@AfterTest(alwaysRun = true)
 	public void deleteTestResource() {
 		// If container isn't null, we created the resource ourselves. To clean up, delete the resource.
-		if (container != null) {
-			buildBaseRequestSpecification().delete(memberResource);
+		if (container != null && memberResource != null) {
+			deleteLater(memberResource);
 		}
+	}
+
+	@AfterSuite(alwaysRun = true)
+	public void commonTearDown() {
+		deleteCreatedResources();
 		if (httpLog != null) {
 			httpLog.println();
 			httpLog.flush();
@@ -2,10 +2,8 @@ package org.w3.ldp.testsuite.test;
 
 import org.apache.jena.rdf.model.Model;
 import com.jayway.restassured.response.Response;
-import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.http.HttpStatus;
-import org.apache.marmotta.commons.util.HashUtils;
 import org.apache.marmotta.commons.vocabulary.LDP;
 import org.testng.Assert;
 import org.testng.annotations.*;
@@ -14,10 +12,12 @@ import org.w3.ldp.testsuite.annotations.SpecTest;
 import org.w3.ldp.testsuite.annotations.SpecTest.METHOD;
 import org.w3.ldp.testsuite.annotations.SpecTest.STATUS;
 import org.w3.ldp.testsuite.exception.SkipException;
-import org.w3.ldp.testsuite.mapper.RdfObjectMapper;
+import org.w3.ldp.testsuite.http.StreamingBodyFilter;
 import org.w3.ldp.testsuite.matcher.HeaderMatchers;
+import org.w3.ldp.testsuite.util.BinaryPayload;
 
 import java.io.IOException;
+import java.io.InputStream;
 
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertTrue;
@@ -32,18 +32,27 @@ import static org.w3.ldp.testsuite.matcher.HttpStatusSuccessMatcher.isSuccessful
 public class NonRDFSourceTest extends CommonResourceTest {
 	private final static String SETUP_ERROR = "ERROR: Could not create test resource for NonRDFSourceTest. Skipping tests.";
 
+	private final static BinaryPayload PNG = BinaryPayload.resource("/test.png", "image/png");
+
 	private String container;
 	/** Resource for CommonResourceTest */
 	private String nonRdfSource;
+	/** Binary POSTed by the tests, see --binary-size */
+	private BinaryPayload binary = PNG;
 
 	@Parameters("auth")
 	public NonRDFSourceTest(@Optional String auth) throws IOException {
 		super(auth);
 	}
 
-	@Parameters({ "basicContainer", "directContainer", "indirectContainer" })
-	@BeforeSuite(alwaysRun = true)
-	public void createTestResource(@Optional String basicContainer, @Optional String directContainer, @Optional String indirectContainer) {
+	@Parameters({ "basicContainer", "directContainer", "indirectContainer", "binarySize" })
+	@BeforeTest(alwaysRun = true)
+	public void createTestResource(@Optional String basicContainer, @Optional String directContainer, @Optional String indirectContainer,
+			@Optional String binarySize) {
+		if (StringUtils.isNotBlank(binarySize)) {
+			binary = BinaryPayload.generated(Long.parseLong(binarySize));
+		}
+
 		if (StringUtils.isNotBlank(basicContainer)) {
 			container = basicContainer;
 		} else if (StringUtils.isNotBlank(directContainer)) {
@@ -56,16 +65,14 @@ public class NonRDFSourceTest extends CommonResourceTest {
 					skipLog);
 		}
 
-		final String slug = "non-rdf-source",
-				file = "test.png",
-				mimeType = "image/png";
+		final String slug = "non-rdf-source";
 
 		// Create a resource to use for CommonResourceTest.
-		try {
+		try (InputStream body = PNG.open()) {
 			Response response = buildBaseRequestSpecification()
 					.header(SLUG, slug)
-					.body(IOUtils.toByteArray(getClass().getResourceAsStream("/" + file)))
-					.contentType(mimeType)
+					.body(body)
+					.contentType(PNG.getMediaType())
 					.post(container);
 			if (response.getStatusCode() != HttpStatus.SC_CREATED) {
 				System.err.println(SETUP_ERROR);
@@ -87,10 +94,10 @@ public class NonRDFSourceTest extends CommonResourceTest {
 		}
 	}
 
-	@AfterSuite(alwaysRun = true)
+	@AfterTest(alwaysRun = true)
 	public void deleteTestResource() {
 		if (nonRdfSource != null) {
-			buildBaseRequestSpecification().delete(nonRdfSource);
+			deleteLater(nonRdfSource);
 		}
 	}
 
@@ -117,13 +124,11 @@ public class NonRDFSourceTest extends CommonResourceTest {
 					+ "testPostResourceAndGetFromContainer covers the rest.")
 	public void testPostNonRDFSource() throws IOException {
 		// Test constants
-		final String slug = "test",
-				file = slug + ".png",
-				mimeType = "image/png";
+		final String slug = "test";
 
 		// Make sure we can post binary resources
-		Response response = postNonRDFSource(slug, file, mimeType);
-		buildBaseRequestSpecification().delete(response.getHeader(LOCATION));
+		Response response = postNonRDFSource(slug);
+		deleteLater(response.getHeader(LOCATION));
 	}
 
 	@Test(
@@ -139,12 +144,10 @@ public class NonRDFSourceTest extends CommonResourceTest {
 					+ "testPostNonRDFSource covers the rest.")
 	public void testPostResourceAndGetFromContainer() throws IOException {
 		// Test constants
-		final String slug = "test",
-				file = slug + ".png",
-				mimeType = "image/png";
+		final String slug = "test";
 
 		// Make sure we can post binary resources
-		Response response = postNonRDFSource(slug, file, mimeType);
+		Response response = postNonRDFSource(slug);
 		try {
 			// Check the container contains the new resource
 			Model model = buildBaseRequestSpecification()
@@ -153,11 +156,11 @@ public class NonRDFSourceTest extends CommonResourceTest {
 					.statusCode(HttpStatus.SC_OK)
 					.contentType(HeaderMatchers.isTurtleCompatibleContentType())
 				.get(container)
-					.body().as(Model.class, new RdfObjectMapper(container));
+					.body().as(Model.class, readOnlyMapper(container));
 
 			assertTrue(model.contains(model.createResource(container), model.createProperty(LDP.contains.stringValue()), model.createResource(response.getHeader(LOCATION))));
 		} finally {
-			buildBaseRequestSpecification().delete(response.getHeader(LOCATION));
+			deleteLater(response.getHeader(LOCATION));
 		}
 	}
 
@@ -172,27 +175,15 @@ public class NonRDFSourceTest extends CommonResourceTest {
 			approval = STATUS.WG_APPROVED)
 	public void testPostResourceGetBinary() throws IOException {
 		// Test constants
-		final String slug = "test",
-				file = slug + ".png",
-				mimeType = "image/png";
+		final String slug = "test";
 
 		// Make sure we can post binary resources
-		Response response = postNonRDFSource(slug, file, mimeType);
+		Response response = postNonRDFSource(slug);
 		try {
 			// And then check we get the binary back
-			final String expectedMD5 = HashUtils.md5sum(NonRDFSourceTest.class.getResourceAsStream("/" + file));
-			final byte[] binary = buildBaseRequestSpecification()
-					.header(ACCEPT, mimeType)
-				.expect()
-					.statusCode(HttpStatus.SC_OK)
-					.contentType(mimeType)
-					.header(ETAG, HeaderMatchers.isValidEntityTag())
-				.when()
-					.get(response.getHeader(LOCATION))
-					.body().asByteArray();
-			assertEquals(expectedMD5, HashUtils.md5sum(binary), "md5sum");
+			assertBinary(response.getHeader(LOCATION));
 		} finally {
-			buildBaseRequestSpecification().delete(response.getHeader(LOCATION));
+			deleteLater(response.getHeader(LOCATION));
 		}
 	}
 
@@ -206,12 +197,10 @@ public class NonRDFSourceTest extends CommonResourceTest {
 			approval = STATUS.WG_APPROVED)
 	public void testPostResourceGetMetadataAndBinary() throws IOException {
 		// Test constants
-		final String slug = "test",
-				file = slug + ".png",
-				mimeType = "image/png";
+		final String slug = "test";
 
 		// Make sure we can post binary resources
-		Response response = postNonRDFSource(slug, file, mimeType);
+		Response response = postNonRDFSource(slug);
 		String location = response.getHeader(LOCATION);
 
 		try {
@@ -228,22 +217,12 @@ public class NonRDFSourceTest extends CommonResourceTest {
 					.header(ETAG, HeaderMatchers.isValidEntityTag())
 				.when()
 					.get(associatedRdfSource)
-					.as(Model.class, new RdfObjectMapper(associatedRdfSource));
+					.as(Model.class, readOnlyMapper(associatedRdfSource));
 
 			// And the binary too
-			final String expectedMD5 = HashUtils.md5sum(NonRDFSourceTest.class.getResourceAsStream("/" + file));
-			final byte[] binary = buildBaseRequestSpecification()
-					.header(ACCEPT, mimeType)
-				.expect()
-					.statusCode(HttpStatus.SC_OK)
-					.contentType(mimeType)
-					.header(ETAG, HeaderMatchers.isValidEntityTag())
-				.when()
-					.get(location)
-					.body().asByteArray();
-			assertEquals(expectedMD5, HashUtils.md5sum(binary), "md5sum");
+			assertBinary(location);
 		} finally {
-			buildBaseRequestSpecification().delete(location);
+			deleteLater(location);
 		}
 	}
 
@@ -259,31 +238,29 @@ public class NonRDFSourceTest extends CommonResourceTest {
 			approval = STATUS.WG_APPROVED)
 	public void testPostResourceAndCheckLink() throws IOException {
 		// Test constants
-		final String slug = "test",
-				file = slug + ".png",
-				mimeType = "image/png";
+		final String slug = "test";
 
 		// Make sure we can post binary resources
-		Response postResponse = postNonRDFSource(slug, file, mimeType);
+		Response postResponse = postNonRDFSource(slug);
 		final String location = postResponse.getHeader(LOCATION);
 
 		try {
-			// And then check the link when requesting the LDP-NR
-			Response getResponse = buildBaseRequestSpecification()
-				.expect()
-					.statusCode(isSuccessful())
-					.header(ETAG, HeaderMatchers.isValidEntityTag())
+			// And then check the link when requesting the LDP-NR, only the headers are needed
+			Response headResponse = buildBaseRequestSpecification()
 				.when()
-					.get(location);
+					.head(location);
+			headResponse.then()
+					.statusCode(isSuccessful())
+					.header(ETAG, HeaderMatchers.isValidEntityTag());
 			Assert.assertTrue(containsLinkHeader(
 					location,
 					LINK_REL_TYPE,
 					LDP.NonRDFSource.stringValue(),
 					location,
-					getResponse
+					headResponse
 			));
 		} finally {
-			buildBaseRequestSpecification().delete(postResponse.header(LOCATION));
+			deleteLater(postResponse.header(LOCATION));
 		}
 	}
 
@@ -301,31 +278,29 @@ public class NonRDFSourceTest extends CommonResourceTest {
 			approval = STATUS.WG_APPROVED)
 	public void testPostResourceAndCheckAssociatedResource() throws IOException {
 		// Test constants
-		final String slug = "test",
-				file = slug + ".png",
-				mimeType = "image/png";
+		final String slug = "test";
 
 		// Make sure we can post binary resources
-		Response postResponse = postNonRDFSource(slug, file, mimeType);
+		Response postResponse = postNonRDFSource(slug);
 		String location = postResponse.getHeader(LOCATION);
 		try {
 			String associatedRdfSource = getFirstLinkForRelation(location, LINK_REL_DESCRIBEDBY, location, postResponse);
 			Assert.assertNotNull(associatedRdfSource, "No Link response header with relation \"describedby\" " +
 					"and anchor parameter matching the newly-created resource URI");
 
-			// Check the link when requesting the LDP-NS
-			Response getResponse = buildBaseRequestSpecification()
-				.expect()
-					.statusCode(isSuccessful())
-					.header(ETAG, HeaderMatchers.headerPresent())
+			// Check the link when requesting the LDP-NS, only the headers are needed
+			Response headResponse = buildBaseRequestSpecification()
 				.when()
-					.get(location);
+					.head(location);
+			headResponse.then()
+					.statusCode(isSuccessful())
+					.header(ETAG, HeaderMatchers.headerPresent());
 			Assert.assertTrue(containsLinkHeader(
 					location,
 					LINK_REL_DESCRIBEDBY,
 					associatedRdfSource,
 					location,
-					getResponse
+					headResponse
 			));
 
 			// And then check the associated LDP-RS is actually there
@@ -338,7 +313,7 @@ public class NonRDFSourceTest extends CommonResourceTest {
 				.when()
 					.get(associatedRdfSource);
 		} finally {
-			buildBaseRequestSpecification().delete(location);
+			deleteLater(location);
 		}
 	}
 
@@ -354,12 +329,10 @@ public class NonRDFSourceTest extends CommonResourceTest {
 			approval = STATUS.WG_APPROVED)
 	public void testDeleteNonRDFSourceDeletesAssociatedResource() throws IOException {
 		// Test constants
-		final String slug = "test",
-				file = slug + ".png",
-				mimeType = "image/png";
+		final String slug = "test";
 
 		// Make sure we can post binary resources
-		Response postResponse = postNonRDFSource(slug, file, mimeType);
+		Response postResponse = postNonRDFSource(slug);
 		String location = postResponse.getHeader(LOCATION);
 		boolean deleted = false;
 
@@ -395,22 +368,46 @@ public class NonRDFSourceTest extends CommonResourceTest {
 		} finally {
 			// Clean up if an assertion failed before we could delete the resource.
 			if (!deleted) {
-				buildBaseRequestSpecification().delete(location);
+				deleteLater(location);
 			}
 		}
 	}
 
-	protected Response postNonRDFSource(String slug, String file, String mimeType) throws IOException {
-		// Make sure we can post binary resources
-		return buildBaseRequestSpecification()
-				.header(SLUG, slug)
-				.body(IOUtils.toByteArray(getClass().getResourceAsStream("/" + file)))
-				.contentType(mimeType)
-			.expect()
-				.statusCode(HttpStatus.SC_CREATED)
-				.header(LOCATION, HeaderMatchers.headerPresent())
+	protected Response postNonRDFSource(String slug) throws IOException {
+		// Make sure we can post binary resources, streaming them from their source
+		try (InputStream body = binary.open()) {
+			return buildBaseRequestSpecification()
+					.header(SLUG, slug)
+					.body(body)
+					.contentType(binary.getMediaType())
+				.expect()
+					.statusCode(HttpStatus.SC_CREATED)
+					.header(LOCATION, HeaderMatchers.headerPresent())
+				.when()
+					.post(container);
+		}
+	}
+
+	/**
+	 * Checks an LDP-NR has the binary POSTed. The response body is hashed
+	 * while it's read rather than kept in memory.
+	 *
+	 * @param location the LDP-NR
+	 * @throws IOException if the response body can't be read
+	 */
+	protected void assertBinary(String location) throws IOException {
+		final Response response = buildBaseRequestSpecification()
+				.filter(StreamingBodyFilter.INSTANCE)
+				.header(ACCEPT, binary.getMediaType())
 			.when()
-				.post(container);
+				.get(location);
+		try (InputStream body = response.asInputStream()) {
+			response.then()
+					.statusCode(HttpStatus.SC_OK)
+					.contentType(binary.getMediaType())
+					.header(ETAG, HeaderMatchers.isValidEntityTag());
+			assertEquals(binary.md5(), BinaryPayload.md5(body), "md5sum");
+		}
 	}
 
 	@Test(
@@ -425,12 +422,10 @@ public class NonRDFSourceTest extends CommonResourceTest {
 			approval = STATUS.WG_APPROVED)
 	public void testOptionsHasSameLinkHeader() throws IOException {
 		// Test constants
-		final String slug = "test",
-				file = slug + ".png",
-				mimeType = "image/png";
+		final String slug = "test";
 
 		// Make sure we can post binary resources
-		Response postResponse = postNonRDFSource(slug, file, mimeType);
+		Response postResponse = postNonRDFSource(slug);
 		String location = postResponse.getHeader(LOCATION);
 
 		try {
@@ -454,7 +449,7 @@ public class NonRDFSourceTest extends CommonResourceTest {
 					"No Link response header with relation \"describedby\" and URI <"
 							+ associatedRdfSource + "> for LDP-NR OPTIONS request");
 		} finally {
-			buildBaseRequestSpecification().delete(location);
+			deleteLater(location);
 		}
 	}
 
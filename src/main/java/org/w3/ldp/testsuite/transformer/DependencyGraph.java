@@ -0,0 +1,242 @@
+package org.w3.ldp.testsuite.transformer;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.testng.ITestNGMethod;
+import org.testng.annotations.Test;
+
+/**
+ * The directed acyclic graph of test methods formed by
+ * {@code @Test(dependsOnMethods=...)}. Nodes are named
+ * {@code <test class>#<method>} (see {@link #key(Class, String)}), where the
+ * test class is the class the method runs as, not the class declaring it.
+ * Dependencies are resolved within the same test class.
+ *
+ * <p>
+ * TestNG runs the graph itself, dispatching a method to its worker pool as
+ * soon as its prerequisites have finished. This class is used to select
+ * test methods without losing the methods they depend on.
+ * </p>
+ */
+public class DependencyGraph {
+
+	/** Node to the nodes it depends upon, in insertion order */
+	private final Map<String, Set<String>> dependencies = new LinkedHashMap<>();
+
+	public static String key(Class<?> testClass, String methodName) {
+		return testClass.getName() + "#" + methodName;
+	}
+
+	public static String key(ITestNGMethod method) {
+		return key(testClass(method), method.getMethodName());
+	}
+
+	/*
+	 * ITestNGMethod.getRealClass() is the class declaring the method, the test
+	 * class is the class of the instance it runs on.
+	 */
+	private static Class<?> testClass(ITestNGMethod method) {
+		return method.getTestClass() != null ? method.getTestClass().getRealClass() : method.getRealClass();
+	}
+
+	/**
+	 * Builds the graph for the test methods TestNG is about to run.
+	 *
+	 * @param methods the test methods
+	 * @return the dependency graph
+	 */
+	public static DependencyGraph fromMethods(Collection<ITestNGMethod> methods) {
+		DependencyGraph graph = new DependencyGraph();
+		Map<Class<?>, List<ITestNGMethod>> byClass = new LinkedHashMap<>();
+		for (ITestNGMethod method : methods) {
+			graph.addNode(key(method));
+			byClass.computeIfAbsent(testClass(method), k -> new ArrayList<>()).add(method);
+		}
+
+		for (ITestNGMethod method : methods) {
+			for (String dependsOn : method.getMethodsDependedUpon()) {
+				for (ITestNGMethod candidate : byClass.get(testClass(method))) {
+					if (matches(dependsOn, candidate.getConstructorOrMethod().getDeclaringClass(), candidate.getMethodName())) {
+						graph.addDependency(key(method), key(candidate));
+					}
+				}
+			}
+		}
+
+		return graph;
+	}
+
+	/**
+	 * Builds the graph for the public {@code @Test} methods of a class,
+	 * including inherited methods.
+	 *
+	 * @param testClass the test class
+	 * @return the dependency graph
+	 */
+	public static DependencyGraph fromClass(Class<?> testClass) {
+		DependencyGraph graph = new DependencyGraph();
+		List<Method> testMethods = new ArrayList<>();
+		for (Method method : testClass.getMethods()) {
+			if (method.isAnnotationPresent(Test.class)) {
+				testMethods.add(method);
+				graph.addNode(key(testClass, method.getName()));
+			}
+		}
+
+		for (Method method : testMethods) {
+			for (String dependsOn : method.getAnnotation(Test.class).dependsOnMethods()) {
+				for (Method candidate : testMethods) {
+					if (matches(dependsOn, candidate.getDeclaringClass(), candidate.getName())) {
+						graph.addDependency(key(testClass, method.getName()), key(testClass, candidate.getName()));
+					}
+				}
+			}
+		}
+
+		return graph;
+	}
+
+	/*
+	 * TestNG accepts simple method names, qualified method names, and regular
+	 * expressions in dependsOnMethods.
+	 */
+	private static boolean matches(String dependsOn, Class<?> declaringClass, String methodName) {
+		String qualified = declaringClass.getName() + "." + methodName;
+		return dependsOn.equals(methodName) || dependsOn.equals(qualified)
+				|| methodName.matches(dependsOn) || qualified.matches(dependsOn);
+	}
+
+	public void addNode(String node) {
+		dependencies.computeIfAbsent(node, k -> new LinkedHashSet<>());
+	}
+
+	public void addDependency(String node, String prerequisite) {
+		addNode(prerequisite);
+		dependencies.computeIfAbsent(node, k -> new LinkedHashSet<>()).add(prerequisite);
+	}
+
+	public boolean contains(String node) {
+		return dependencies.containsKey(node);
+	}
+
+	public Set<String> getNodes() {
+		return Collections.unmodifiableSet(dependencies.keySet());
+	}
+
+	/**
+	 * @param node the node
+	 * @return the nodes {@code node} directly depends upon
+	 */
+	public Set<String> getDependencies(String node) {
+		Set<String> prerequisites = dependencies.get(node);
+		return prerequisites == null ? Collections.<String>emptySet() : Collections.unmodifiableSet(prerequisites);
+	}
+
+	/**
+	 * Gets the given nodes together with everything they transitively depend
+	 * upon.
+	 *
+	 * @param nodes the selected nodes
+	 * @return the dependency closure of {@code nodes}
+	 */
+	public Set<String> closure(Collection<String> nodes) {
+		Set<String> closure = new LinkedHashSet<>();
+		Deque<String> toVisit = new ArrayDeque<>(nodes);
+		while (!toVisit.isEmpty()) {
+			String node = toVisit.pop();
+			if (closure.add(node)) {
+				toVisit.addAll(getDependencies(node));
+			}
+		}
+
+		return closure;
+	}
+
+	/**
+	 * Groups the nodes connected by dependencies in either direction. A
+	 * selection that keeps or drops whole components never separates a test
+	 * from the tests it depends on.
+	 *
+	 * @return the connected components, each in insertion order
+	 */
+	public List<Set<String>> components() {
+		Map<String, Set<String>> neighbours = new HashMap<>();
+		for (Map.Entry<String, Set<String>> node : dependencies.entrySet()) {
+			neighbours.computeIfAbsent(node.getKey(), k -> new LinkedHashSet<>()).addAll(node.getValue());
+			for (String prerequisite : node.getValue()) {
+				neighbours.computeIfAbsent(prerequisite, k -> new LinkedHashSet<>()).add(node.getKey());
+			}
+		}
+
+		List<Set<String>> components = new ArrayList<>();
+		Set<String> seen = new HashSet<>();
+		for (String node : dependencies.keySet()) {
+			if (seen.contains(node)) {
+				continue;
+			}
+
+			Set<String> component = new LinkedHashSet<>();
+			Deque<String> toVisit = new ArrayDeque<>();
+			toVisit.push(node);
+			while (!toVisit.isEmpty()) {
+				String next = toVisit.pop();
+				if (seen.add(next)) {
+					component.add(next);
+					toVisit.addAll(neighbours.get(next));
+				}
+			}
+			components.add(component);
+		}
+
+		return components;
+	}
+
+	/**
+	 * Orders the nodes so every node comes after the nodes it depends upon.
+	 * Otherwise keeps insertion order.
+	 *
+	 * @return the nodes in topological order
+	 * @throws IllegalStateException if the dependencies have a cycle
+	 */
+	public List<String> topologicalOrder() {
+		List<String> order = new ArrayList<>(dependencies.size());
+		Map<String, Boolean> visiting = new HashMap<>(); // true while on the stack, false once done
+		for (String node : dependencies.keySet()) {
+			visit(node, visiting, order, new ArrayList<String>());
+		}
+
+		return order;
+	}
+
+	private void visit(String node, Map<String, Boolean> visiting, List<String> order, List<String> path) {
+		Boolean state = visiting.get(node);
+		if (Boolean.FALSE.equals(state)) {
+			return;
+		}
+
+		path.add(node);
+		if (Boolean.TRUE.equals(state)) {
+			throw new IllegalStateException("ERROR: cyclic test dependencies, " + String.join(" -> ", path));
+		}
+
+		visiting.put(node, true);
+		for (String prerequisite : getDependencies(node)) {
+			visit(prerequisite, visiting, order, path);
+		}
+		visiting.put(node, false);
+		path.remove(path.size() - 1);
+		order.add(node);
+	}
+}
@@ -2,19 +2,23 @@ package org.w3.ldp.testsuite.transformer;
 
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.testng.IAnnotationTransformer;
 import org.testng.annotations.ITestAnnotation;
 
 public class MethodEnabler implements IAnnotationTransformer {
 
-	private static Map<String, Boolean> transforms = new HashMap<>();	
-	private static boolean defEnabled = true;
+	private static final Map<String, Boolean> transforms = new ConcurrentHashMap<>();
+	private static volatile boolean defEnabled = true;
 
-	public synchronized static void includeMethod(String name) {
-		transforms.put(name, true);		
+	private final Map<Class<?>, DependencyGraph> graphs = new ConcurrentHashMap<>();
+
+	public static void includeMethod(String name) {
+		transforms.put(name, true);
 	}
 
 	public static void excludeMethod(String name) {
@@ -29,19 +33,37 @@ public class MethodEnabler implements IAnnotationTransformer {
 	@Override
 	public void transform(ITestAnnotation annotation, Class testClass,
 			Constructor testConstructor, Method testMethod) {
+		if (testMethod == null) {
+			// class or constructor annotation
+			return;
+		}
+
 		String methodName = testMethod.getName();
 		
 		if (transforms.containsKey(methodName)) {
 			annotation.setEnabled(transforms.get(methodName));
-			
-			String[] dependencies = annotation.getDependsOnMethods();
-			for (String dep : dependencies) {
-				transforms.put(dep, true);
-			}
+		} else if (isRequiredByIncludedMethod(testMethod)) {
+			// An included method depends on this one, directly or transitively.
+			annotation.setEnabled(true);
 		} else {	
 			// If it is not in the transforms map and defEnabled is true, 
 			// do what its annotation says
 			annotation.setEnabled(annotation.getEnabled() && defEnabled);
 		}
 	}
+
+	private boolean isRequiredByIncludedMethod(Method testMethod) {
+		Class<?> declaringClass = testMethod.getDeclaringClass();
+		DependencyGraph graph = graphs.computeIfAbsent(declaringClass, DependencyGraph::fromClass);
+
+		List<String> included = new ArrayList<>();
+		for (Map.Entry<String, Boolean> transform : transforms.entrySet()) {
+			String node = DependencyGraph.key(declaringClass, transform.getKey());
+			if (transform.getValue() && graph.contains(node)) {
+				included.add(node);
+			}
+		}
+
+		return graph.closure(included).contains(DependencyGraph.key(declaringClass, testMethod.getName()));
+	}
 }
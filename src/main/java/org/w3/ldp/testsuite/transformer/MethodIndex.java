@@ -0,0 +1,117 @@
+package org.w3.ldp.testsuite.transformer;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import org.testng.ITestNGMethod;
+import org.w3.ldp.testsuite.annotations.SpecTest;
+
+/**
+ * Indexes test methods by name, class, groups and {@link SpecTest}
+ * attributes. A query matches each pattern against the distinct values of
+ * an attribute once, rather than against every method.
+ *
+ * <p>
+ * Methods are identified by {@link DependencyGraph#key(ITestNGMethod)}.
+ * </p>
+ */
+public class MethodIndex {
+
+	public enum Attribute {
+		/** Method name */
+		NAME,
+		/** Simple and qualified name of the test class */
+		CLASS,
+		/** TestNG groups */
+		GROUP,
+		/** {@link SpecTest#approval()} */
+		APPROVAL,
+		/** {@link SpecTest#testMethod()} */
+		TEST_METHOD,
+		/** {@link SpecTest#specRefUri()}, also indexed by its {@code #fragment} */
+		SPEC_REF
+	}
+
+	private final Set<String> keys = new LinkedHashSet<>();
+
+	/** Attribute value to the methods having it */
+	private final Map<Attribute, Map<String, Set<String>>> index = new EnumMap<>(Attribute.class);
+
+	public MethodIndex(Collection<ITestNGMethod> methods) {
+		for (Attribute attribute : Attribute.values()) {
+			index.put(attribute, new HashMap<String, Set<String>>());
+		}
+
+		for (ITestNGMethod method : methods) {
+			String key = DependencyGraph.key(method);
+			keys.add(key);
+
+			add(Attribute.NAME, method.getMethodName(), key);
+			Class<?> testClass = method.getTestClass() != null ? method.getTestClass().getRealClass() : method.getRealClass();
+			add(Attribute.CLASS, testClass.getName(), key);
+			add(Attribute.CLASS, testClass.getSimpleName(), key);
+			for (String group : method.getGroups()) {
+				add(Attribute.GROUP, group, key);
+			}
+
+			Method javaMethod = method.getConstructorOrMethod().getMethod();
+			SpecTest specTest = javaMethod != null ? javaMethod.getAnnotation(SpecTest.class) : null;
+			if (specTest != null) {
+				add(Attribute.APPROVAL, specTest.approval().name(), key);
+				add(Attribute.TEST_METHOD, specTest.testMethod().name(), key);
+				String specRef = specTest.specRefUri();
+				add(Attribute.SPEC_REF, specRef, key);
+				int hash = specRef.indexOf('#');
+				if (hash >= 0) {
+					add(Attribute.SPEC_REF, specRef.substring(hash), key);
+				}
+			}
+		}
+	}
+
+	private void add(Attribute attribute, String value, String key) {
+		Map<String, Set<String>> values = index.get(attribute);
+		Set<String> methods = values.get(value);
+		if (methods == null) {
+			methods = new LinkedHashSet<>();
+			values.put(value, methods);
+		}
+		methods.add(key);
+	}
+
+	/**
+	 * @return all the indexed methods
+	 */
+	public Set<String> getKeys() {
+		return Collections.unmodifiableSet(keys);
+	}
+
+	/**
+	 * Selects the methods with a value of the attribute matching any of the
+	 * patterns.
+	 *
+	 * @param attribute the attribute
+	 * @param patterns the patterns, matched against whole values
+	 * @return the matching methods
+	 */
+	public Set<String> select(Attribute attribute, Collection<Pattern> patterns) {
+		Set<String> selected = new LinkedHashSet<>();
+		for (Map.Entry<String, Set<String>> value : index.get(attribute).entrySet()) {
+			for (Pattern pattern : patterns) {
+				if (pattern.matcher(value.getKey()).matches()) {
+					selected.addAll(value.getValue());
+					break;
+				}
+			}
+		}
+
+		return selected;
+	}
+}
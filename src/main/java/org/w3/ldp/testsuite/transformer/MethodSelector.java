@@ -0,0 +1,148 @@
+package org.w3.ldp.testsuite.transformer;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ITestContext;
+import org.testng.ITestNGMethod;
+import org.w3.ldp.testsuite.transformer.MethodIndex.Attribute;
+
+/**
+ * Filters the test methods to run by name, class, groups or
+ * {@link org.w3.ldp.testsuite.annotations.SpecTest} attributes, and by
+ * shard. A test is selected if it matches every criterion, each criterion
+ * being a list of alternative patterns (see {@link MethodIndex}). The methods the
+ * selected tests depend on (see {@code dependsOnMethods}) are always kept,
+ * otherwise TestNG refuses to run the selected tests at all.
+ *
+ * <p>
+ * A shard gets whole groups of dependent tests. The shard of a group is
+ * decided by the hash of its first {@code class#method} name, so every
+ * machine running the same selection agrees on it.
+ * </p>
+ */
+public class MethodSelector implements IMethodInterceptor {
+
+	private final Map<Attribute, List<Pattern>> criteria = new EnumMap<>(Attribute.class);
+
+	private Set<String> testCases; // null selects any
+
+	private int shard = 1;
+	private int shardCount = 1;
+
+	/**
+	 * Selects all tests.
+	 */
+	public MethodSelector() {
+	}
+
+	/**
+	 * @param testNameRegexes regular expressions matching the names of the tests to run
+	 */
+	public MethodSelector(Collection<String> testNameRegexes) {
+		addCriterion(Attribute.NAME, testNameRegexes);
+	}
+
+	/**
+	 * Runs only the tests with a value of the attribute matching one of the
+	 * regular expressions. Criteria on the same attribute are alternatives.
+	 *
+	 * @param attribute the attribute to match
+	 * @param regexes regular expressions matching whole values
+	 */
+	public void addCriterion(Attribute attribute, Collection<String> regexes) {
+		List<Pattern> patterns = criteria.get(attribute);
+		if (patterns == null) {
+			patterns = new ArrayList<>();
+			criteria.put(attribute, patterns);
+		}
+		for (String regex : regexes) {
+			patterns.add(Pattern.compile(regex));
+		}
+	}
+
+	/**
+	 * Runs only the given tests of those matching the test names.
+	 *
+	 * @param testCases the tests as {@link DependencyGraph#key(Class, String)}
+	 */
+	public void setTestCases(Set<String> testCases) {
+		this.testCases = new HashSet<>(testCases);
+	}
+
+	/**
+	 * Runs only one part of the selected tests.
+	 *
+	 * @param shard the part to run, from 1 to {@code shardCount}
+	 * @param shardCount the number of parts
+	 */
+	public void setShard(int shard, int shardCount) {
+		if (shardCount < 1 || shard < 1 || shard > shardCount) {
+			throw new IllegalArgumentException("ERROR: invalid shard, " + shard + "/" + shardCount);
+		}
+		this.shard = shard;
+		this.shardCount = shardCount;
+	}
+
+	@Override
+	public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+		List<ITestNGMethod> testMethods = new ArrayList<>(methods.size());
+		Map<String, List<IMethodInstance>> instances = new LinkedHashMap<>();
+		for (IMethodInstance method : methods) {
+			String key = DependencyGraph.key(method.getMethod());
+			testMethods.add(method.getMethod());
+			instances.computeIfAbsent(key, k -> new ArrayList<>()).add(method);
+		}
+
+		Set<String> selected = select(new MethodIndex(testMethods));
+		DependencyGraph graph = DependencyGraph.fromMethods(testMethods);
+		Set<String> closure = graph.closure(selected);
+		if (shardCount > 1) {
+			for (Set<String> component : graph.components()) {
+				if (shardOf(component) != shard) {
+					closure.removeAll(component);
+				}
+			}
+		}
+
+		// Return prerequisites first. TestNG still schedules by the graph.
+		List<IMethodInstance> toRun = new ArrayList<>();
+		for (String node : graph.topologicalOrder()) {
+			if (closure.contains(node)) {
+				toRun.addAll(instances.get(node));
+			}
+		}
+
+		return toRun;
+	}
+
+	private int shardOf(Set<String> component) {
+		String first = Collections.min(component);
+		return Math.floorMod(first.hashCode(), shardCount) + 1;
+	}
+
+	private Set<String> select(MethodIndex index) {
+		Set<String> selected = new LinkedHashSet<>(index.getKeys());
+		if (testCases != null) {
+			selected.retainAll(testCases);
+		}
+		for (Map.Entry<Attribute, List<Pattern>> criterion : criteria.entrySet()) {
+			if (selected.isEmpty()) {
+				break;
+			}
+			selected.retainAll(index.select(criterion.getKey(), criterion.getValue()));
+		}
+		return selected;
+	}
+}
@@ -0,0 +1,189 @@
+package org.w3.ldp.testsuite.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Locale;
+
+import org.apache.commons.codec.binary.Hex;
+
+/**
+ * A binary to POST as an LDP Non-RDF Source. The content is read as a
+ * stream each time it's sent or hashed, so a binary of several gigabytes
+ * (see {@code --binary-size}) never sits on the heap.
+ */
+public abstract class BinaryPayload {
+
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	private final String mediaType;
+
+	private volatile String md5;
+
+	protected BinaryPayload(String mediaType) {
+		this.mediaType = mediaType;
+	}
+
+	/**
+	 * @param path the class path resource
+	 * @param mediaType its media type
+	 * @return the payload of a class path resource
+	 */
+	public static BinaryPayload resource(final String path, String mediaType) {
+		return new BinaryPayload(mediaType) {
+			@Override
+			public InputStream open() throws IOException {
+				InputStream in = BinaryPayload.class.getResourceAsStream(path);
+				if (in == null) {
+					throw new IOException("Missing resource " + path);
+				}
+				return in;
+			}
+		};
+	}
+
+	/**
+	 * @param size the size in bytes
+	 * @return a payload of pseudo-random bytes, the same each time it's read
+	 */
+	public static BinaryPayload generated(final long size) {
+		return new BinaryPayload("application/octet-stream") {
+			@Override
+			public InputStream open() {
+				return new GeneratedInputStream(size);
+			}
+		};
+	}
+
+	/**
+	 * Parses a size in bytes, optionally followed by K, M or G for kibibytes,
+	 * mebibytes or gibibytes.
+	 *
+	 * @param size the size, for instance {@code 2G}
+	 * @return the number of bytes
+	 * @throws NumberFormatException if the size is invalid
+	 */
+	public static long parseSize(String size) {
+		final String value = size.trim().toUpperCase(Locale.ENGLISH);
+		final int shift;
+		switch (value.isEmpty() ? ' ' : value.charAt(value.length() - 1)) {
+		case 'K':
+			shift = 10;
+			break;
+		case 'M':
+			shift = 20;
+			break;
+		case 'G':
+			shift = 30;
+			break;
+		default:
+			return Long.parseLong(value);
+		}
+
+		final long number = Long.parseLong(value.substring(0, value.length() - 1).trim());
+		if (number > Long.MAX_VALUE >> shift) {
+			throw new NumberFormatException("Size too large: " + size);
+		}
+		return number << shift;
+	}
+
+	/**
+	 * @return a new stream of the content, closed by the caller
+	 * @throws IOException if the content can't be read
+	 */
+	public abstract InputStream open() throws IOException;
+
+	public String getMediaType() {
+		return mediaType;
+	}
+
+	/**
+	 * @return the MD5 hash of the content, hex encoded
+	 * @throws IOException if the content can't be read
+	 */
+	public String md5() throws IOException {
+		String hash = md5;
+		if (hash == null) {
+			try (InputStream in = open()) {
+				hash = md5(in);
+			}
+			md5 = hash;
+		}
+		return hash;
+	}
+
+	/**
+	 * Hashes a stream while reading it to the end.
+	 *
+	 * @param in the stream, not closed
+	 * @return the MD5 hash, hex encoded
+	 * @throws IOException if the stream can't be read
+	 */
+	public static String md5(InputStream in) throws IOException {
+		final DigestInputStream digest;
+		try {
+			digest = new DigestInputStream(in, MessageDigest.getInstance("MD5"));
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+
+		final byte[] buffer = new byte[BUFFER_SIZE];
+		while (digest.read(buffer) != -1) {
+			// the digest is updated as the stream is read
+		}
+		return Hex.encodeHexString(digest.getMessageDigest().digest());
+	}
+
+	/**
+	 * Bytes derived from their position with the SplitMix64 mixing function,
+	 * so they don't compress and read the same whatever the buffer sizes.
+	 */
+	private static class GeneratedInputStream extends InputStream {
+
+		private final long size;
+		private long position;
+
+		GeneratedInputStream(long size) {
+			this.size = size;
+		}
+
+		@Override
+		public int read() {
+			if (position >= size) {
+				return -1;
+			}
+			final int b = (int) (mix(position >>> 3) >>> ((position & 7) << 3)) & 0xFF;
+			position++;
+			return b;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) {
+			if (len == 0) {
+				return 0;
+			}
+			if (position >= size) {
+				return -1;
+			}
+
+			final int count = (int) Math.min(len, size - position);
+			long word = mix(position >>> 3);
+			for (int i = 0; i < count; i++, position++) {
+				if ((position & 7) == 0) {
+					word = mix(position >>> 3);
+				}
+				b[off + i] = (byte) (word >>> ((position & 7) << 3));
+			}
+			return count;
+		}
+
+		private static long mix(long index) {
+			long z = index * 0x9E3779B97F4A7C15L;
+			z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+			z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+			return z ^ (z >>> 31);
+		}
+	}
+}
@@ -1,8 +1,7 @@
 package org.w3.ldp.testsuite.util;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
-
+import org.apache.jena.graph.GraphUtil;
+import org.apache.jena.graph.compose.Delta;
 import org.apache.jena.rdf.model.Model;
 import org.apache.jena.rdf.model.ModelFactory;
 
@@ -10,10 +9,22 @@ public class RDFModelUtils {
 	
 	public static Model cloneModel(Model model) {
 		Model result = ModelFactory.createDefaultModel();
-		ByteArrayOutputStream out = new ByteArrayOutputStream();
-		model.write(out);
-		ByteArrayInputStream in = new ByteArrayInputStream(out.toByteArray());
-		result.read(in, null);
+		result.setNsPrefixes(model);
+		GraphUtil.addInto(result.getGraph(), model.getGraph());
+		return result;
+	}
+
+	/**
+	 * A copy-on-write view of a model. The changes are kept in the view, the
+	 * base model is never modified, so a shared model can be handed to each
+	 * test without copying it.
+	 *
+	 * @param base the model
+	 * @return a model with the triples and prefixes of the base
+	 */
+	public static Model overlay(Model base) {
+		Model result = ModelFactory.createModelForGraph(new Delta(base.getGraph()));
+		result.setNsPrefixes(base);
 		return result;
 	}
 
@@ -0,0 +1,28 @@
+package org.w3.ldp.testsuite.util;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.testng.IExecutorServiceFactory;
+
+/**
+ * Creates the TestNG worker pools with virtual threads, so test methods
+ * blocked on HTTP requests don't each hold a platform thread and its stack.
+ * TestNG still bounds the number of concurrent tests with the thread count.
+ * Falls back to TestNG's own threads if the JVM has no virtual threads.
+ */
+public class VirtualThreadExecutorServiceFactory implements IExecutorServiceFactory {
+
+	public static final String THREAD_PREFIX = "ldp-testsuite-";
+
+	@Override
+	public ExecutorService create(int corePoolSize, int maxPoolSize, long keepAliveTime, TimeUnit unit,
+			BlockingQueue<Runnable> workQueue, ThreadFactory threadFactory) {
+		ThreadFactory virtual = VirtualThreads.newThreadFactory(THREAD_PREFIX);
+		return new ThreadPoolExecutor(corePoolSize, maxPoolSize, keepAliveTime, unit, workQueue,
+				virtual != null ? virtual : threadFactory);
+	}
+}
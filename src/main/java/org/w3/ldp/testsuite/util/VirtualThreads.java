@@ -0,0 +1,73 @@
+package org.w3.ldp.testsuite.util;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Access to JDK virtual threads. The test suite is compiled for Java 17, so
+ * virtual threads (Java 21 and later) are looked up reflectively and callers
+ * fall back to platform threads when they're not available. On Java 19 and
+ * 20 they're a preview API, only available with {@code --enable-preview}.
+ */
+public class VirtualThreads {
+
+	private static final Method OF_VIRTUAL;
+	private static final Method NAME;
+	private static final Method FACTORY;
+
+	static {
+		Method ofVirtual = null, name = null, factory = null;
+		try {
+			Class<?> builder = Class.forName("java.lang.Thread$Builder");
+			ofVirtual = Thread.class.getMethod("ofVirtual");
+			name = builder.getMethod("name", String.class, long.class);
+			factory = builder.getMethod("factory");
+			// throws UnsupportedOperationException on Java 19 and 20 without --enable-preview
+			ofVirtual.invoke(null);
+		} catch (ClassNotFoundException | NoSuchMethodException e) {
+			// Java 18 or older, no virtual threads
+			ofVirtual = null;
+		} catch (InvocationTargetException | IllegalAccessException e) {
+			// preview API not enabled
+			ofVirtual = null;
+		}
+		OF_VIRTUAL = ofVirtual;
+		NAME = name;
+		FACTORY = factory;
+	}
+
+	/**
+	 * Are virtual threads supported by the running JVM?
+	 *
+	 * @return true if virtual threads are available
+	 */
+	public static boolean isSupported() {
+		return OF_VIRTUAL != null;
+	}
+
+	/**
+	 * Creates a thread factory for virtual threads.
+	 *
+	 * @param prefix the thread name prefix, a counter is appended
+	 * @return a virtual thread factory, or {@code null} if virtual threads are not supported
+	 */
+	public static ThreadFactory newThreadFactory(String prefix) {
+		if (!isSupported()) {
+			return null;
+		}
+
+		try {
+			Object builder = OF_VIRTUAL.invoke(null);
+			builder = NAME.invoke(builder, prefix, 1L);
+			return (ThreadFactory) FACTORY.invoke(builder);
+		} catch (InvocationTargetException e) {
+			if (e.getCause() instanceof UnsupportedOperationException) {
+				return null; // preview API not enabled
+			}
+			throw new IllegalStateException("Unable to create virtual thread factory", e);
+		} catch (ReflectiveOperationException e) {
+			throw new IllegalStateException("Unable to create virtual thread factory", e);
+		}
+	}
+}
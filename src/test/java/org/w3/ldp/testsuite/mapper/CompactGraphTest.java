@@ -0,0 +1,114 @@
+package org.w3.ldp.testsuite.mapper;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.shared.AddDeniedException;
+import org.apache.jena.sparql.graph.GraphFactory;
+import org.testng.annotations.Test;
+
+/**
+ * Compares {@link CompactGraph} with Jena's default graph on random triples
+ * and patterns. Some nodes have the same hash code, so the lookups also go
+ * through runs of triples that only differ by their nodes.
+ */
+public class CompactGraphTest {
+
+	private static final int TRIPLES = 5000;
+	private static final int PATTERNS = 2000;
+
+	@Test
+	public void testFindMatchesDefaultGraph() {
+		final Random random = new Random(42);
+		final List<Node> nodes = nodes();
+		final Graph expected = GraphFactory.createDefaultGraph();
+		final CompactGraph.Builder builder = new CompactGraph.Builder();
+		for (int i = 0; i < TRIPLES; i++) {
+			final Triple triple = Triple.create(pick(nodes, random), pick(nodes, random), pick(nodes, random));
+			expected.add(triple);
+			builder.triple(triple);
+			if (random.nextInt(10) == 0) {
+				builder.triple(triple); // duplicates are dropped
+			}
+		}
+		final CompactGraph actual = builder.build();
+
+		assertEquals(actual.size(), expected.size(), "size");
+		for (int i = 0; i < PATTERNS; i++) {
+			final Node s = random.nextBoolean() ? pick(nodes, random) : Node.ANY;
+			final Node p = random.nextBoolean() ? pick(nodes, random) : Node.ANY;
+			final Node o = random.nextBoolean() ? pick(nodes, random) : Node.ANY;
+			assertEquals(find(actual, s, p, o), find(expected, s, p, o), "find " + s + " " + p + " " + o);
+			assertEquals(actual.contains(s, p, o), expected.contains(s, p, o), "contains " + s + " " + p + " " + o);
+		}
+	}
+
+	@Test
+	public void testCopyOf() {
+		final Graph graph = GraphFactory.createDefaultGraph();
+		graph.getPrefixMapping().setNsPrefix("ex", "http://example.org/");
+		final List<Node> nodes = nodes();
+		final Random random = new Random(7);
+		for (int i = 0; i < 500; i++) {
+			graph.add(Triple.create(pick(nodes, random), pick(nodes, random), pick(nodes, random)));
+		}
+
+		final CompactGraph copy = CompactGraph.copyOf(graph);
+		assertEquals(find(copy, Node.ANY, Node.ANY, Node.ANY), find(graph, Node.ANY, Node.ANY, Node.ANY));
+		assertEquals(copy.getPrefixMapping().getNsPrefixURI("ex"), "http://example.org/");
+	}
+
+	@Test
+	public void testFrozen() {
+		final Node node = NodeFactory.createURI("http://example.org/s");
+		final CompactGraph graph = CompactGraph.copyOf(GraphFactory.createDefaultGraph());
+		boolean denied = false;
+		try {
+			graph.add(Triple.create(node, node, node));
+		} catch (AddDeniedException e) {
+			denied = true;
+		}
+		assertTrue(denied, "add should fail");
+		assertFalse(graph.contains(node, node, node));
+	}
+
+	/*
+	 * URIs, literals and blank nodes. "Aa" and "BB" have the same String hash
+	 * code, so do their combinations.
+	 */
+	private static List<Node> nodes() {
+		final List<Node> nodes = new ArrayList<>();
+		final String[] collisions = { "AaAa", "AaBB", "BBAa", "BBBB" };
+		for (String name : collisions) {
+			nodes.add(NodeFactory.createURI("http://example.org/" + name));
+			nodes.add(NodeFactory.createLiteralString(name));
+		}
+		for (int i = 0; i < 40; i++) {
+			nodes.add(NodeFactory.createURI("http://example.org/r" + i));
+			nodes.add(NodeFactory.createLiteralString("value " + i));
+		}
+		for (int i = 0; i < 5; i++) {
+			nodes.add(NodeFactory.createBlankNode());
+		}
+		return nodes;
+	}
+
+	private static Node pick(List<Node> nodes, Random random) {
+		return nodes.get(random.nextInt(nodes.size()));
+	}
+
+	private static Set<Triple> find(Graph graph, Node s, Node p, Node o) {
+		return new HashSet<>(graph.find(s, p, o).toList());
+	}
+}